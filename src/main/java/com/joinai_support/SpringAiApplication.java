@@ -3,9 +3,11 @@ package com.joinai_support;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.joinai_support")
 @EnableAsync
+@EnableScheduling
 public class SpringAiApplication {
 
 	public static void main(String[] args) {
@@ -1,32 +1,42 @@
 package com.joinai_support.config;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.joinai_support.domain.AuditLog;
 import com.joinai_support.service.AuditLogService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Component
 public class ApiAuditFilter extends OncePerRequestFilter {
 
     private static final int MAX_PAYLOAD_LENGTH = 4000;
+    // Worst case of 4 UTF-8 bytes per character, so the captured prefix always covers MAX_PAYLOAD_LENGTH
+    private static final int CAPTURE_LIMIT_BYTES = MAX_PAYLOAD_LENGTH * 4;
 
     private final AuditLogService auditLogService;
-    private final ObjectMapper objectMapper;
+    private final PayloadRedactor payloadRedactor;
+    private final List<String> skipResponseBodyPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
-    public ApiAuditFilter(AuditLogService auditLogService, ObjectMapper objectMapper) {
+    public ApiAuditFilter(AuditLogService auditLogService,
+                          PayloadRedactor payloadRedactor,
+                          @Value("${audit.capture.skip-response-body:}") List<String> skipResponseBodyPaths) {
         this.auditLogService = auditLogService;
-        this.objectMapper = objectMapper;
+        this.payloadRedactor = payloadRedactor;
+        this.skipResponseBodyPaths = skipResponseBodyPaths.stream()
+                .map(String::trim)
+                .filter(pattern -> !pattern.isEmpty())
+                .toList();
     }
 
     @Override
@@ -43,26 +53,38 @@ public class ApiAuditFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain
     ) throws ServletException, IOException {
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, CAPTURE_LIMIT_BYTES);
+        BoundedCaptureResponseWrapper wrappedResponse = new BoundedCaptureResponseWrapper(
+                response, CAPTURE_LIMIT_BYTES, capturesResponseBody(request));
 
         long startTime = System.currentTimeMillis();
         try {
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
             long duration = System.currentTimeMillis() - startTime;
+            wrappedResponse.flushWriter();
             storeAuditLog(wrappedRequest, wrappedResponse, duration);
-            wrappedResponse.copyBodyToResponse();
         }
     }
 
+    // Bulk-list and binary routes are configured out of response capture entirely
+    private boolean capturesResponseBody(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (String pattern : skipResponseBodyPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void storeAuditLog(
             ContentCachingRequestWrapper request,
-            ContentCachingResponseWrapper response,
+            BoundedCaptureResponseWrapper response,
             long duration
     ) {
-        String requestBody = sanitizePayload(getRequestBody(request));
-        String responseBody = sanitizePayload(getResponseBody(response));
+        PayloadRedactor.Redacted requestBody = payloadRedactor.redact(getRequestBody(request), MAX_PAYLOAD_LENGTH);
+        PayloadRedactor.Redacted responseBody = payloadRedactor.redact(response.getCapturedBody(), MAX_PAYLOAD_LENGTH);
 
         AuditLog auditLog = new AuditLog();
         auditLog.setMethod(request.getMethod());
@@ -73,8 +95,8 @@ public class ApiAuditFilter extends OncePerRequestFilter {
         auditLog.setUserAgent(request.getHeader("User-Agent"));
         auditLog.setDurationMs(duration);
         auditLog.setActorEmail(resolveActorEmail(request, requestBody));
-        auditLog.setRequestBody(requestBody);
-        auditLog.setResponseBody(responseBody);
+        auditLog.setRequestBody(requestBody.payload());
+        auditLog.setResponseBody(responseBody.payload());
 
         auditLogService.record(auditLog);
     }
@@ -87,61 +109,22 @@ public class ApiAuditFilter extends OncePerRequestFilter {
         return new String(content, StandardCharsets.UTF_8);
     }
 
-    private String getResponseBody(ContentCachingResponseWrapper response) {
-        byte[] content = response.getContentAsByteArray();
-        if (content.length == 0) {
-            return "";
-        }
-        return new String(content, StandardCharsets.UTF_8);
-    }
-
-    private String resolveActorEmail(HttpServletRequest request, String requestBody) {
+    private String resolveActorEmail(HttpServletRequest request, PayloadRedactor.Redacted requestBody) {
         String headerEmail = request.getHeader("X-User-Email");
         if (headerEmail != null && !headerEmail.isBlank()) {
             return headerEmail;
         }
 
-        String email = extractField(requestBody, "email");
+        String email = requestBody.email();
         if (email != null && !email.isBlank()) {
             return email;
         }
 
-        String token = extractField(requestBody, "token");
+        String token = requestBody.token();
         if (token != null && token.contains("@")) {
             return token;
         }
 
         return "anonymous";
     }
-
-    private String extractField(String json, String fieldName) {
-        if (json == null || json.isBlank()) {
-            return null;
-        }
-
-        try {
-            JsonNode node = objectMapper.readTree(json);
-            JsonNode value = node.get(fieldName);
-            return value != null && value.isTextual() ? value.asText() : null;
-        } catch (Exception ignored) {
-            return null;
-        }
-    }
-
-    private String sanitizePayload(String payload) {
-        if (payload == null || payload.isBlank()) {
-            return "";
-        }
-
-        String sanitized = payload
-                .replaceAll("(?i)\"password\"\\s*:\\s*\"[^\"]*\"", "\"password\":\"***\"")
-                .replaceAll("(?i)\"token\"\\s*:\\s*\"[^\"]*\"", "\"token\":\"***\"")
-                .replaceAll("(?i)\"secret\"\\s*:\\s*\"[^\"]*\"", "\"secret\":\"***\"");
-
-        if (sanitized.length() > MAX_PAYLOAD_LENGTH) {
-            return sanitized.substring(0, MAX_PAYLOAD_LENGTH) + "...(truncated)";
-        }
-
-        return sanitized;
-    }
 }
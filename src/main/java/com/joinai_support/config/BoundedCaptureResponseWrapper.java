@@ -0,0 +1,162 @@
+package com.joinai_support.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Response wrapper that writes straight through to the client and keeps a copy of at most
+ * {@code captureLimit} bytes for auditing. Unlike {@code ContentCachingResponseWrapper} the body is never
+ * held back, so streaming responses stay streaming and large ones are not buffered twice.
+ * Capture switches itself off for non-textual content types.
+ */
+class BoundedCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+    private final ByteArrayOutputStream captured;
+    private boolean captureEnabled;
+    private boolean contentTypeChecked;
+
+    private TeeOutputStream outputStream;
+    private PrintWriter writer;
+
+    BoundedCaptureResponseWrapper(HttpServletResponse response, int captureLimit, boolean captureEnabled) {
+        super(response);
+        this.captureLimit = captureLimit;
+        this.captureEnabled = captureEnabled;
+        this.captured = new ByteArrayOutputStream(captureEnabled ? Math.min(captureLimit, 1024) : 0);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return teeOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(teeOutputStream(), responseCharset()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * Pushes anything still sitting in the writer through the tee so the captured prefix is complete.
+     */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    String getCapturedBody() {
+        return captured.size() == 0 ? "" : captured.toString(responseCharset());
+    }
+
+    private TeeOutputStream teeOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private Charset responseCharset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        if (!captureEnabled) {
+            return;
+        }
+        if (!contentTypeChecked) {
+            contentTypeChecked = true;
+            if (!isTextual(getContentType())) {
+                captureEnabled = false;
+                return;
+            }
+        }
+        int room = captureLimit - captured.size();
+        if (room > 0) {
+            captured.write(bytes, offset, Math.min(length, room));
+        }
+    }
+
+    private static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/")
+                || type.contains("json")
+                || type.contains("xml")
+                || type.startsWith("application/x-www-form-urlencoded");
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            capture(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
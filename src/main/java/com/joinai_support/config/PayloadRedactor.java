@@ -0,0 +1,188 @@
+package com.joinai_support.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Masks sensitive fields in audited payloads with a single streaming pass over the body.
+ * The same pass picks up the top-level {@code email} and {@code token} values used to identify the actor,
+ * and stops copying once the output limit is reached. Bodies that are not JSON are truncated and masked
+ * with a key/value pattern instead.
+ */
+@Component
+public class PayloadRedactor {
+
+    static final String MASK = "***";
+    static final String TRUNCATED_SUFFIX = "...(truncated)";
+
+    private final JsonFactory jsonFactory;
+    private final Set<String> sensitiveFields;
+    private final Pattern fallbackPattern;
+
+    public PayloadRedactor(ObjectMapper objectMapper,
+                           @Value("${audit.redaction.fields:password,token,secret,otp}") List<String> sensitiveFields) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.sensitiveFields = sensitiveFields.stream()
+                .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.fallbackPattern = Pattern.compile("(?i)(\"?(?:"
+                + this.sensitiveFields.stream().map(Pattern::quote).collect(Collectors.joining("|"))
+                + ")\"?\\s*[:=]\\s*)(\"[^\"]*\"|[^&\\s,}]+)");
+    }
+
+    public record Redacted(String payload, String email, String token) {
+        static final Redacted EMPTY = new Redacted("", null, null);
+    }
+
+    public Redacted redact(String payload, int maxLength) {
+        if (payload == null || payload.isBlank()) {
+            return Redacted.EMPTY;
+        }
+        try {
+            return redactJson(payload, maxLength);
+        } catch (IOException notJson) {
+            return new Redacted(redactText(payload, maxLength), null, null);
+        }
+    }
+
+    private Redacted redactJson(String payload, int maxLength) throws IOException {
+        BoundedWriter out = new BoundedWriter(maxLength);
+        String email = null;
+        String token = null;
+        boolean skipped = false;
+
+        try (JsonParser parser = jsonFactory.createParser(payload);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            JsonToken current = parser.nextToken();
+            if (current == null) {
+                throw new IOException("empty document");
+            }
+            try {
+                for (; current != null; current = parser.nextToken()) {
+                    boolean full = out.length() + generator.getOutputBuffered() >= maxLength;
+
+                    if (current != JsonToken.FIELD_NAME) {
+                        if (!full) {
+                            generator.copyCurrentEvent(parser);
+                        } else {
+                            skipped = true;
+                            parser.skipChildren();
+                        }
+                        continue;
+                    }
+
+                    String name = parser.currentName();
+                    boolean topLevel = parser.getParsingContext().getParent().inRoot();
+                    JsonToken value = parser.nextToken();
+                    if (topLevel && value == JsonToken.VALUE_STRING) {
+                        if ("email".equals(name)) {
+                            email = parser.getText();
+                        } else if ("token".equals(name)) {
+                            token = parser.getText();
+                        }
+                    }
+
+                    if (full) {
+                        // Past the limit only the actor fields matter, so nested content is skipped unread
+                        skipped = true;
+                        parser.skipChildren();
+                    } else if (sensitiveFields.contains(name.toLowerCase(Locale.ROOT))) {
+                        parser.skipChildren();
+                        generator.writeFieldName(name);
+                        generator.writeString(MASK);
+                    } else {
+                        generator.writeFieldName(name);
+                        generator.copyCurrentEvent(parser);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                // A body cut off by the capture limit only fails after the output is already full
+                if (!skipped) {
+                    throw e;
+                }
+            }
+            generator.flush();
+        }
+
+        String redacted = out.toString();
+        if (skipped || out.isTruncated()) {
+            redacted = redacted + TRUNCATED_SUFFIX;
+        }
+        return new Redacted(redacted, email, token);
+    }
+
+    private String redactText(String payload, int maxLength) {
+        boolean truncated = payload.length() > maxLength;
+        String prefix = truncated ? payload.substring(0, maxLength) : payload;
+        String masked = fallbackPattern.matcher(prefix).replaceAll("$1" + MASK);
+        return truncated ? masked + TRUNCATED_SUFFIX : masked;
+    }
+
+    // Keeps the first maxLength characters and silently discards the rest
+    private static final class BoundedWriter extends Writer {
+        private final StringBuilder buffer;
+        private final int maxLength;
+        private boolean truncated;
+
+        BoundedWriter(int maxLength) {
+            this.maxLength = maxLength;
+            this.buffer = new StringBuilder(Math.min(maxLength, 1024));
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            int room = maxLength - buffer.length();
+            if (length > room) {
+                truncated = true;
+                length = Math.max(room, 0);
+            }
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) {
+            int room = maxLength - buffer.length();
+            if (length > room) {
+                truncated = true;
+                length = Math.max(room, 0);
+            }
+            buffer.append(text, offset, offset + length);
+        }
+
+        int length() {
+            return buffer.length();
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.joinai_support.config;
+
+import com.joinai_support.domain.TicketAnalysis;
+import com.joinai_support.utils.Priority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fills in columns that Hibernate's schema update adds as NULL on existing rows.
+ * Every statement only touches rows that are still NULL, so re-running on each startup is cheap.
+ */
+@Component
+public class SchemaBackfillRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaBackfillRunner.class);
+
+    private static final int REPLY_ORDER_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SchemaBackfillRunner(JdbcTemplate jdbcTemplate,
+                                MongoTemplate mongoTemplate,
+                                TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        backfillReplyOrder();
+
+        backfill("support_ticket.reply_count",
+                "UPDATE support_ticket t SET reply_count = " +
+                        "(SELECT count(*) FROM ticket_replies r WHERE r.ticket_id = t.id) " +
+                        "WHERE t.reply_count IS NULL");
+
+        backfill("support_ticket.priority_rank",
+                "UPDATE support_ticket SET priority_rank = " + priorityRankCase() + " WHERE priority_rank IS NULL");
+    }
+
+    // Mirrors Priority.rankOf over the stored ordinal
+    private static String priorityRankCase() {
+        StringBuilder sql = new StringBuilder("CASE priority");
+        for (Priority priority : Priority.values()) {
+            sql.append(" WHEN ").append(priority.ordinal()).append(" THEN ").append(priority.getRank());
+        }
+        return sql.append(" ELSE ").append(Priority.rankOf(null)).append(" END").toString();
+    }
+
+    /**
+     * Replies stored before the order column existed carry no id or timestamp of their own. Every one of them
+     * was also recorded as an agent entry, with its time, in the ticket's MongoDB conversation history, so they
+     * are numbered by that time. Replies without a matching entry follow, ordered by their text. The unordered
+     * rows of a ticket are rewritten in one transaction, as the old unordered collection itself did on each reply.
+     */
+    private void backfillReplyOrder() {
+        try {
+            List<Long> ticketIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT ticket_id FROM ticket_replies WHERE reply_order IS NULL", Long.class);
+            int updated = 0;
+            for (int from = 0; from < ticketIds.size(); from += REPLY_ORDER_BATCH_SIZE) {
+                List<Long> batch = ticketIds.subList(from, Math.min(from + REPLY_ORDER_BATCH_SIZE, ticketIds.size()));
+                updated += Objects.requireNonNull(transactionTemplate.execute(status -> orderReplies(batch)));
+            }
+            if (updated > 0) {
+                logger.info("Backfilled ticket_replies.reply_order on {} row(s)", updated);
+            }
+        } catch (Exception e) {
+            logger.warn("Skipping backfill of ticket_replies.reply_order: {}", e.getMessage());
+        }
+    }
+
+    private int orderReplies(List<Long> ticketIds) {
+        MapSqlParameterSource ids = new MapSqlParameterSource("ticketIds", ticketIds);
+        Map<Long, List<String>> replies = new HashMap<>();
+        namedJdbcTemplate.query("SELECT ticket_id, reply FROM ticket_replies " +
+                        "WHERE reply_order IS NULL AND ticket_id IN (:ticketIds)", ids,
+                (RowCallbackHandler) row -> replies.computeIfAbsent(row.getLong("ticket_id"), id -> new ArrayList<>()).add(row.getString("reply")));
+
+        Map<Long, List<TicketAnalysis.TicketConversationEntry>> agentEntries = new HashMap<>();
+        Query query = Query.query(Criteria.where("_id").in(ticketIds.stream().map(String::valueOf).toList()));
+        query.fields().include("conversationHistory");
+        for (TicketAnalysis record : mongoTemplate.find(query, TicketAnalysis.class)) {
+            if (record.getConversationHistory() == null) {
+                continue;
+            }
+            agentEntries.put(Long.valueOf(record.getTicketId()), record.getConversationHistory().stream()
+                    .filter(entry -> "AGENT".equals(entry.getActorRole()) && entry.getTimestamp() != null)
+                    .sorted(Comparator.comparing(TicketAnalysis.TicketConversationEntry::getTimestamp))
+                    .toList());
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        replies.forEach((ticketId, texts) -> {
+            List<String> ordered = inWrittenOrder(texts, agentEntries.getOrDefault(ticketId, List.of()));
+            for (int position = 0; position < ordered.size(); position++) {
+                rows.add(new Object[]{ticketId, position, ordered.get(position)});
+            }
+        });
+
+        namedJdbcTemplate.update("DELETE FROM ticket_replies WHERE reply_order IS NULL AND ticket_id IN (:ticketIds)", ids);
+        jdbcTemplate.batchUpdate("INSERT INTO ticket_replies (ticket_id, reply_order, reply) VALUES (?, ?, ?)", rows);
+        return rows.size();
+    }
+
+    // Each reply takes the earliest unused agent entry with the same text; identical replies are interchangeable
+    private static List<String> inWrittenOrder(List<String> texts, List<TicketAnalysis.TicketConversationEntry> entries) {
+        boolean[] used = new boolean[entries.size()];
+        List<TimedReply> timed = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            LocalDateTime writtenAt = null;
+            for (int i = 0; i < entries.size() && text != null; i++) {
+                if (!used[i] && text.trim().equals(entries.get(i).getMessage())) {
+                    used[i] = true;
+                    writtenAt = entries.get(i).getTimestamp();
+                    break;
+                }
+            }
+            timed.add(new TimedReply(text, writtenAt));
+        }
+        timed.sort(Comparator.comparing(TimedReply::writtenAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(TimedReply::text, Comparator.nullsLast(Comparator.naturalOrder())));
+        return timed.stream().map(TimedReply::text).toList();
+    }
+
+    private void backfill(String column, String sql) {
+        try {
+            int updated = jdbcTemplate.update(sql);
+            if (updated > 0) {
+                logger.info("Backfilled {} on {} row(s)", column, updated);
+            }
+        } catch (Exception e) {
+            logger.warn("Skipping backfill of {}: {}", column, e.getMessage());
+        }
+    }
+
+    private record TimedReply(String text, LocalDateTime writtenAt) {
+    }
+}
@@ -4,40 +4,46 @@ import com.joinai_support.domain.Admin;
 import com.joinai_support.domain.AuditLog;
 import com.joinai_support.domain.SupportTicket;
 import com.joinai_support.dto.*;
-import com.joinai_support.repository.SupportTicketRepository;
 import com.joinai_support.service.AuditLogService;
 import com.joinai_support.service.serviceImpl.AdminServiceImpl;
+import com.joinai_support.service.serviceImpl.DataExportService;
 
 
 import com.joinai_support.utils.AdminDTO;
+import com.joinai_support.utils.ConditionalRequests;
+import com.joinai_support.utils.ExportFormat;
 import com.joinai_support.utils.Role;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 import java.util.List;
 
 @RestController
 @RequestMapping("/admin")
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class AdminController {
 
     private final AdminServiceImpl adminServiceImpl;
 
-    private final SupportTicketRepository supportTicketRepository;
     private final AuditLogService auditLogService;
+    private final DataExportService dataExportService;
 
     @Autowired
     public AdminController(
             AdminServiceImpl adminServiceImpl,
-            SupportTicketRepository supportTicketRepository,
-            AuditLogService auditLogService
+            AuditLogService auditLogService,
+            DataExportService dataExportService
     ) {
         this.adminServiceImpl = adminServiceImpl;
 
-        this.supportTicketRepository = supportTicketRepository;
         this.auditLogService = auditLogService;
+        this.dataExportService = dataExportService;
     }
 
     @PostMapping("/createAdmin")
@@ -54,21 +60,21 @@ public class AdminController {
     public ResponseEntity<ResponseDTO> authenticate(@RequestBody AdminLoginRequest authenticationRequest) {
         ResponseDTO response = new ResponseDTO();
 
-        Admin user = adminServiceImpl.getAdmin(authenticationRequest.getEmail());
+        Identity user = adminServiceImpl.resolveAdmin(authenticationRequest.getEmail());
         if (user == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();}
 
-        if (Boolean.FALSE.equals(user.getEnabled())) {
+        if (!user.isEnabled()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        if (!user.getPassword().equals(authenticationRequest.getPassword())) {
+        if (!user.passwordMatches(authenticationRequest.getPassword())) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        adminServiceImpl.TrackActivity(user);
-        response.setRole(user.getRole());
-        response.setId(user.getId());
+        adminServiceImpl.recordLogin(user.id());
+        response.setRole(user.role());
+        response.setId(user.id());
 
         return ResponseEntity.ok(response);
     }
@@ -80,8 +86,14 @@ public class AdminController {
 
 
     @PostMapping("/getAgents")
-    public ResponseEntity<List<Admin>> getAgents(@RequestBody GetResponse request) {
-        return adminServiceImpl.getAllAgents(request);
+    public ResponseEntity<List<Admin>> getAgents(@RequestBody GetResponse request,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!adminServiceImpl.isKnownCaller(request.getToken())) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // Each agent is serialized with its tickets, so a ticket change has to change the tag as well
+        String etag = ConditionalRequests.etag(adminServiceImpl.agentsVersion(), "agents", adminServiceImpl.ticketsVersion());
+        return ConditionalRequests.respond(ifNoneMatch, etag, () -> adminServiceImpl.getAllAgents(request));
     }
 
     @PostMapping("/updateAgentStatus")
@@ -90,9 +102,10 @@ public class AdminController {
     }
 
     @GetMapping("/getAll")
-    public ResponseEntity<List<SupportTicket>> getAllTickets() {
-        List<SupportTicket> users = supportTicketRepository.findAll();
-       return ResponseEntity.ok(users);
+    public ResponseEntity<List<SupportTicket>> getAllTickets(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ConditionalRequests.etag(adminServiceImpl.ticketsVersion(), "all-tickets");
+        return ConditionalRequests.respond(ifNoneMatch, etag, adminServiceImpl::getAllTickets);
     }
 
     @PostMapping("/updateProfile")
@@ -101,13 +114,28 @@ public class AdminController {
     }
 
     @PostMapping("/getProfileData")
-    public ResponseEntity<AdminDTO> getProfileData(@RequestBody EmailRequest profileRequest) {
-        return adminServiceImpl.getProfileData(profileRequest);
+    public ResponseEntity<AdminDTO> getProfileData(@RequestBody EmailRequest profileRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Identity admin = adminServiceImpl.resolveAdmin(profileRequest.getEmail());
+        if (admin == null) {
+            return adminServiceImpl.getProfileData(profileRequest);
+        }
+        String etag = ConditionalRequests.etag(adminServiceImpl.profileVersion(admin.id()), "profile", admin.id());
+        return ConditionalRequests.respond(ifNoneMatch, etag, () -> adminServiceImpl.getProfileData(profileRequest));
     }
 
     @PostMapping("/getSettings")
-    public ResponseEntity<AgentSettingsDTO> getSettings(@RequestBody EmailRequest request) {
-        return adminServiceImpl.getAgentSettings(request);
+    public ResponseEntity<AgentSettingsDTO> getSettings(@RequestBody EmailRequest request,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (request.getEmail() == null || request.getEmail().isBlank()) {
+            return adminServiceImpl.getAgentSettings(request);
+        }
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
+        if (admin == null) {
+            return adminServiceImpl.getAgentSettings(request);
+        }
+        String etag = ConditionalRequests.etag(adminServiceImpl.profileVersion(admin.id()), "settings", admin.id());
+        return ConditionalRequests.respond(ifNoneMatch, etag, () -> adminServiceImpl.getAgentSettings(request));
     }
 
     @PostMapping("/updateSettings")
@@ -122,12 +150,26 @@ public class AdminController {
     }
 
     @PostMapping("/getAllTickets")
-    public ResponseEntity<List<SupportTicket>> getAllTickets(@RequestBody EmailRequest request) {
-        Admin admin = adminServiceImpl.getAdmin(request.getEmail());
+    public ResponseEntity<List<SupportTicket>> getAllTickets(@RequestBody EmailRequest request,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
         if (admin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        else return adminServiceImpl.getAllTickets();
+        String etag = ConditionalRequests.etag(adminServiceImpl.ticketsVersion(), "all-tickets");
+        return ConditionalRequests.respond(ifNoneMatch, etag, adminServiceImpl::getAllTickets);
+    }
+
+    @PostMapping("/listTickets")
+    public ResponseEntity<TicketPage> listTickets(@RequestBody TicketListRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
+        if (admin == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // Any ticket change invalidates every filtered page; the filters only keep the tags apart
+        String etag = ConditionalRequests.etag(adminServiceImpl.ticketsVersion(), "list-tickets", request);
+        return ConditionalRequests.respond(ifNoneMatch, etag, () -> adminServiceImpl.listTickets(request));
     }
 
     @PostMapping("/getAnalytics")
@@ -141,17 +183,66 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size
     ) {
-        Admin admin = adminServiceImpl.getAdmin(request.getEmail());
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
         if (admin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        if (admin.getRole() != Role.ADMIN) {
+        if (admin.role() != Role.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
         return ResponseEntity.ok(auditLogService.getRecentLogs(page, size));
     }
 
+    @PostMapping("/exportTickets")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestBody TicketListRequest request,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
+        if (admin == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return exportResponse("tickets", format, gzip)
+                .body(dataExportService.exportTickets(request, format, gzip));
+    }
+
+    @PostMapping("/exportAuditLogs")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestBody AuditLogExportRequest request,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        Identity admin = adminServiceImpl.resolveAdmin(request.getEmail());
+        if (admin == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        if (admin.role() != Role.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        boolean gzip = acceptsGzip(acceptEncoding);
+        return exportResponse("audit-logs", format, gzip)
+                .body(dataExportService.exportAuditLogs(request, format, gzip));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static ResponseEntity.BodyBuilder exportResponse(String name, ExportFormat format, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return builder;
+    }
+
 
 }
@@ -1,35 +1,44 @@
 package com.joinai_support.controller;
 
-import com.joinai_support.domain.Admin;
 import com.joinai_support.domain.SupportTicket;
 import com.joinai_support.dto.*;
-import com.joinai_support.repository.AdminRepository;
 import com.joinai_support.repository.UserRepository;
+import com.joinai_support.service.serviceImpl.IdentityCache;
 import com.joinai_support.service.serviceImpl.SupportTicketServiceImpl;
+import com.joinai_support.service.serviceImpl.TicketIdempotencyGuard;
 import com.joinai_support.utils.Authenticate;
+import com.joinai_support.utils.ConditionalRequests;
 import com.joinai_support.utils.TicketDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/ticket")
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = {"X-Ticket-Id", "Idempotent-Replayed", HttpHeaders.ETAG,
+        SupportTicketServiceImpl.NOTIFICATIONS_CURSOR_HEADER})
 public class SupportTicketController {
 
     private final SupportTicketServiceImpl supportTicketServiceImpl;
     private final UserRepository userRepository;
-    private final AdminRepository adminRepository;
+    private final IdentityCache identityCache;
+    private final int maxBulkSize;
 
     @Autowired
-    public SupportTicketController(SupportTicketServiceImpl supportTicketServiceImpl, UserRepository userRepository, AdminRepository adminRepository) {
+    public SupportTicketController(SupportTicketServiceImpl supportTicketServiceImpl, UserRepository userRepository, IdentityCache identityCache,
+                                   @Value("${tickets.bulk.max-size:500}") int maxBulkSize) {
         this.supportTicketServiceImpl = supportTicketServiceImpl;
         this.userRepository = userRepository;
-        this.adminRepository = adminRepository;
+        this.identityCache = identityCache;
+        this.maxBulkSize = maxBulkSize;
     }
 
     @PostMapping("/launchTicket")
@@ -38,24 +47,36 @@ public class SupportTicketController {
     }
 
     //Opening a ticket using Chatbot
+    // Retries carrying the same Idempotency-Key (or the same email, subject and content) get the original ticket back
     @PostMapping("/openTicket")
-    public String openTicket(@RequestBody SupportTicketRequest supportTicket) {
+    public ResponseEntity<String> openTicket(@RequestBody SupportTicketRequest supportTicket,
+                                             @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         SupportTicket ticket = new SupportTicket();
         ticket.setIssuerEmail(supportTicket.getEmail());
         ticket.setSubject(supportTicket.getSubject());
         ticket.setContent(supportTicket.getContent());
-        String result = supportTicketServiceImpl.launchTicket(ticket);
-
-        if (supportTicket.getSource() != null && !supportTicket.getSource().isBlank()) {
-            TicketConversationEventRequest eventRequest = new TicketConversationEventRequest();
-            eventRequest.setEmail(supportTicket.getEmail());
-            eventRequest.setActorRole("SYSTEM");
-            eventRequest.setChannel(supportTicket.getSource());
-            eventRequest.setMessage("Ticket created through " + supportTicket.getSource() + " channel.");
-            supportTicketServiceImpl.appendConversationEvent(eventRequest);
+
+        String key = TicketIdempotencyGuard.keyFor(idempotencyKey,
+                supportTicket.getEmail(), supportTicket.getSubject(), supportTicket.getContent());
+        TicketLaunchResult result = supportTicketServiceImpl.launchTicketOnce(ticket, supportTicket.getSource(), key);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.ticketId() != null) {
+            response.header("X-Ticket-Id", String.valueOf(result.ticketId()));
         }
+        if (result.replayed()) {
+            response.header("Idempotent-Replayed", "true");
+        }
+        return response.body(result.message());
+    }
 
-        return result;
+    // Bulk intake for channels replaying a backlog; results are reported per item, in request order
+    @PostMapping("/bulkOpen")
+    public ResponseEntity<BulkTicketResponse> bulkOpenTickets(@RequestBody List<SupportTicketRequest> tickets) {
+        if (tickets == null || tickets.isEmpty() || tickets.size() > maxBulkSize) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(supportTicketServiceImpl.launchTickets(tickets));
     }
 
     @RequestMapping("/updateTicket")
@@ -64,8 +85,41 @@ public class SupportTicketController {
     }
 
     @PostMapping("/getMyTickets")
-    public ResponseEntity<List<SupportTicket>> getMyTickets(@RequestBody Authenticate authenticationResponse) {
-        return supportTicketServiceImpl.getMyTickets(authenticationResponse);
+    public ResponseEntity<List<SupportTicket>> getMyTickets(@RequestBody Authenticate authenticationResponse,
+                                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Identity> agent = identityCache.find(authenticationResponse.getEmail()).filter(Identity::admin);
+        if (agent.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Long agentId = agent.get().id();
+        String etag = ConditionalRequests.etag(supportTicketServiceImpl.myTicketsVersion(agentId), "my-tickets", agentId);
+        return ConditionalRequests.respond(ifNoneMatch, etag,
+                () -> supportTicketServiceImpl.getMyTickets(authenticationResponse));
+    }
+
+    @PostMapping("/myTickets")
+    public ResponseEntity<TicketPage> getMyTicketPage(@RequestBody TicketListRequest request,
+                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Identity> agent = identityCache.find(request.getEmail()).filter(Identity::admin);
+        if (agent.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Long agentId = agent.get().id();
+        String etag = ConditionalRequests.etag(
+                supportTicketServiceImpl.myTicketsVersion(agentId), "my-tickets-page", agentId, request);
+        return ConditionalRequests.respond(ifNoneMatch, etag, () -> supportTicketServiceImpl.getMyTicketPage(request));
+    }
+
+    // Pull queue: 200 with the claimed ticket, 204 when nothing is waiting
+    @PostMapping("/claimNext")
+    public ResponseEntity<SupportTicket> claimNextTicket(@RequestBody EmailRequest request) {
+        return supportTicketServiceImpl.claimNextTicket(request.getEmail());
+    }
+
+    @PostMapping("/myTickets/{ticketId}")
+    public ResponseEntity<SupportTicket> getMyTicketDetail(@PathVariable Long ticketId,
+                                                           @RequestBody EmailRequest request) {
+        return supportTicketServiceImpl.getMyTicketDetail(request.getEmail(), ticketId);
     }
 
     @RequestMapping("/getStats")
@@ -75,17 +129,26 @@ public class SupportTicketController {
 
     @RequestMapping("/getMyStats")
     public ResponseEntity<StatsByAgent> getMyStats(@RequestBody Authenticate authenticationResponse) {
-        Optional<Admin> admin = Optional.ofNullable(adminRepository.findByEmail(authenticationResponse.getToken()));
+        Optional<Identity> admin = identityCache.find(authenticationResponse.getToken()).filter(Identity::admin);
         if (admin.isPresent()) {
-            return supportTicketServiceImpl.getStatsByAgent(admin.get());
+            return supportTicketServiceImpl.getStatsByAgent(admin.get().id());
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
 
     }
 
+    // Pass the X-Notifications-Cursor of the previous response as ?since= to receive only changed tickets
     @RequestMapping("/ticketNotifications")
-    public ResponseEntity<List<TicketDTO>> getTicketNotifications(@RequestBody EmailRequest emailRequest) {
-        return supportTicketServiceImpl.getNotifications(emailRequest.getEmail());
+    public ResponseEntity<List<TicketDTO>> getTicketNotifications(@RequestBody EmailRequest emailRequest,
+                                                                  @RequestParam(required = false) String since) {
+        return supportTicketServiceImpl.getNotifications(emailRequest.getEmail(), since);
+    }
+
+    // EventSource cannot send a body, so the agent is identified by query parameter. Events are relayed
+    // between instances best effort; on reconnect the client resyncs via /ticketNotifications?since=
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAgentEvents(@RequestParam String email) {
+        return supportTicketServiceImpl.openEventStream(email);
     }
 
     @PostMapping("/lookup")
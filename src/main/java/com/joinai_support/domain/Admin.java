@@ -12,10 +12,6 @@ import java.util.List;
 @Entity
 @Data
 public class Admin extends User {
-    @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
-    private Long id;
-
     private String phone;
     private String name;
     private String address;
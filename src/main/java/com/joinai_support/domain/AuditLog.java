@@ -6,7 +6,7 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "api_audit_logs")
+@Table(name = "api_audit_logs", indexes = @Index(name = "idx_audit_created", columnList = "created_at, id"))
 @Data
 public class AuditLog {
 
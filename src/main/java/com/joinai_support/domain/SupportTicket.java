@@ -2,6 +2,7 @@ package com.joinai_support.domain;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.DurationDeserializer;
@@ -14,26 +15,49 @@ import lombok.Data;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        // Keyset listing: newest first, optionally narrowed by one of the common filters
+        @Index(name = "idx_ticket_launch", columnList = "launch_timestamp, id"),
+        @Index(name = "idx_ticket_status_launch", columnList = "status, launch_timestamp, id"),
+        @Index(name = "idx_ticket_agent_launch", columnList = "admin_id, launch_timestamp, id"),
+        @Index(name = "idx_ticket_issuer_launch", columnList = "issuer_email, launch_timestamp, id"),
+        // Agent notification delta polls
+        @Index(name = "idx_ticket_agent_updated", columnList = "admin_id, updated_at, id"),
+        // Validator for conditional requests on the full ticket lists
+        @Index(name = "idx_ticket_updated", columnList = "updated_at"),
+        // Pull queue: unassigned tickets, most urgent and then oldest first
+        @Index(name = "idx_ticket_queue", columnList = "admin_id, status, priority_rank, launch_timestamp, id")
+})
 @Data
 public class SupportTicket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "support_ticket_seq")
+    @SequenceGenerator(name = "support_ticket_seq", sequenceName = "support_ticket_seq", allocationSize = 50)
     private Long id;
 
     private LocalDateTime launchTimestamp;
     private LocalDateTime servedTimestamp;
     private String subject;
     private Priority priority;
+
+    // Derived from the priority on every write; the ordinal stored for the priority does not sort by urgency
+    @JsonIgnore
+    private Integer priorityRank;
     @ElementCollection
     @CollectionTable(name = "ticket_replies", joinColumns = @JoinColumn(name = "ticket_id"))
+    @OrderColumn(name = "reply_order")
     @Column(name = "reply")
     private List<String> replies = new ArrayList<>();
 
+    // Kept alongside the replies so analytics can read the count without loading reply bodies
+    private Integer replyCount;
+
     private String content;
     private String attachments;
     private LocalDateTime updatedAt;
@@ -57,6 +81,13 @@ public class SupportTicket {
 
     private String issuerEmail;
 
+    // SimHash of the content, used to spot near-duplicate submissions; null for very short content
+    @JsonIgnore
+    private Long contentSignature;
+
+    // Set when the ticket was opened as a near-duplicate of another open ticket
+    private Long duplicateOfTicketId;
+
     @PrePersist
     public void prePersist() {
         if (launchTimestamp == null) {
@@ -64,16 +95,33 @@ public class SupportTicket {
         }
 
         if (updatedAt == null) {
-            updatedAt = LocalDateTime.now();
+            updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         }
 
 
         if (status == null) {
             status = Status.OPEN;
         }
+
+        if (replyCount == null) {
+            replyCount = replies == null ? 0 : replies.size();
+        }
+
+        priorityRank = Priority.rankOf(priority);
     }
 
-    public void addReply(String reply) {
-        this.replies.add(reply);
+    // Every change moves the ticket forward in the agents' notification feed. Truncated to the database's
+    // precision so a cursor built from the in-memory value matches the stored one.
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        priorityRank = Priority.rankOf(priority);
+    }
+
+    public Integer getReplyCount() {
+        if (replyCount == null) {
+            return replies == null ? 0 : replies.size();
+        }
+        return replyCount;
     }
 }
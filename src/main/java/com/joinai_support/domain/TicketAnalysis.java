@@ -54,6 +54,7 @@ public class TicketAnalysis {
     private Boolean isRevenueAffecting;             // Does this impact revenue?
     private String resolutionType;                  // "FIX", "WORKAROUND", "REFUND"
     private List<TicketConversationEntry> conversationHistory = new ArrayList<>();
+    private List<Long> processedEventIds = new ArrayList<>();       // Outbox events already applied to this record
 
     public TicketAnalysis(String ticketId, String question, String issuerEmail) {
         this.ticketId = ticketId;
@@ -87,6 +88,16 @@ public class TicketAnalysis {
 
 
     // BUSINESS METHODS
+    public void classify(Priority priority, Category category) {
+        if (priority != null) {
+            this.priority = priority;
+        }
+        if (category != null) {
+            this.category = category;
+        }
+        updateDerivedFields();
+    }
+
     public void recordFirstResponse(LocalDateTime responseTime) {
         if (this.firstResponseAt == null) {
             this.firstResponseAt = responseTime;
@@ -174,7 +185,8 @@ public class TicketAnalysis {
     }
 
     public void addConversationEntry(String actorRole, String channel, String message, LocalDateTime timestamp) {
-        if (message == null || message.isBlank()) {
+        TicketConversationEntry entry = TicketConversationEntry.of(actorRole, channel, message, timestamp);
+        if (entry == null) {
             return;
         }
 
@@ -182,12 +194,6 @@ public class TicketAnalysis {
             this.conversationHistory = new ArrayList<>();
         }
 
-        TicketConversationEntry entry = new TicketConversationEntry();
-        entry.setActorRole(actorRole == null || actorRole.isBlank() ? "SYSTEM" : actorRole);
-        entry.setChannel(channel == null || channel.isBlank() ? "unknown" : channel);
-        entry.setMessage(message.trim());
-        entry.setTimestamp(timestamp == null ? LocalDateTime.now() : timestamp);
-
         this.conversationHistory.add(entry);
         this.updatedAt = LocalDateTime.now();
     }
@@ -200,5 +206,20 @@ public class TicketAnalysis {
         private String channel;
         private String message;
         private LocalDateTime timestamp;
+
+        /**
+         * Builds a normalized entry, or returns null when there is no message to record.
+         */
+        public static TicketConversationEntry of(String actorRole, String channel, String message, LocalDateTime timestamp) {
+            if (message == null || message.isBlank()) {
+                return null;
+            }
+            return new TicketConversationEntry(
+                    actorRole == null || actorRole.isBlank() ? "SYSTEM" : actorRole,
+                    channel == null || channel.isBlank() ? "unknown" : channel,
+                    message.trim(),
+                    timestamp == null ? LocalDateTime.now() : timestamp
+            );
+        }
     }
 }
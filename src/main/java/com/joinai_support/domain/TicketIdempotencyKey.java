@@ -0,0 +1,25 @@
+package com.joinai_support.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claimed idempotency key of an opened ticket. The primary key is what makes concurrent duplicate
+ * submissions, from any app instance, resolve to a single ticket.
+ */
+@Entity
+@Table(name = "ticket_idempotency_keys")
+@Data
+public class TicketIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    private Long ticketId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
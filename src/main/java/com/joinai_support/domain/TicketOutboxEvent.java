@@ -0,0 +1,75 @@
+package com.joinai_support.domain;
+
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.OutboxStatus;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.TicketEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A MongoDB side effect of a ticket change, stored in the same transaction as the change itself.
+ * {@link com.joinai_support.service.serviceImpl.TicketEventRelay} applies the events of each ticket
+ * in id order; the event id doubles as the idempotency key on the Mongo side.
+ */
+@Entity
+@Table(name = "ticket_outbox_events", indexes = {
+        @Index(name = "idx_ticket_outbox_pending", columnList = "status, ticket_id, id")
+})
+@Data
+public class TicketOutboxEvent {
+
+    // One nextval per event instead of a block cached per instance, so a ticket's later events get higher ids
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_outbox_event_seq")
+    @SequenceGenerator(name = "ticket_outbox_event_seq", sequenceName = "ticket_outbox_event_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "ticket_id", nullable = false)
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    private TicketEventType type;
+
+    private String actorRole;
+    private String channel;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    private String issuerEmail;
+    private LocalDateTime occurredAt;
+
+    // Intake classification, carried by RECORD_CREATED events
+    @Enumerated(EnumType.STRING)
+    private Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime processedAt;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastError;
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (occurredAt == null) {
+            occurredAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+        if (status == null) {
+            status = OutboxStatus.PENDING;
+        }
+    }
+}
@@ -11,6 +11,8 @@ import lombok.NoArgsConstructor;
 
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -32,6 +34,9 @@ public class User  {
     private LocalDate createdAt = LocalDate.now();
     private Boolean enabled = Boolean.TRUE;
 
+    // Validator for conditional requests on profile, settings and agent lists
+    private LocalDateTime updatedAt;
+
     @PrePersist
     public void prePersist() {
         if (createdAt == null) {
@@ -40,6 +45,12 @@ public class User  {
         if (enabled == null) {
             enabled = Boolean.TRUE;
         }
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
 }
@@ -0,0 +1,34 @@
+package com.joinai_support.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.joinai_support.utils.AgentEventType;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed to an agent's dashboard stream. Ticket events carry the ticket fields that changed;
+ * {@link AgentEventType#STATS} events carry the agent's current open ticket count and dashboard counters.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AgentEvent(
+        AgentEventType type,
+        Long ticketId,
+        Status status,
+        Priority priority,
+        Integer replyCount,
+        Long openTickets,
+        StatsByAgent stats,
+        LocalDateTime occurredAt
+) {
+
+    public static AgentEvent ofTicket(AgentEventType type, TicketSnapshot ticket) {
+        return new AgentEvent(type, ticket.id(), ticket.status(), ticket.priority(), ticket.replies(), null,
+                null, LocalDateTime.now());
+    }
+
+    public static AgentEvent stats(long openTickets, StatsByAgent stats) {
+        return new AgentEvent(AgentEventType.STATS, null, null, null, null, openTickets, stats, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,14 @@
+package com.joinai_support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgentOpenTicketCount {
+    private Long agentId;
+    private Boolean enabled;
+    private long openTickets;
+}
@@ -0,0 +1,16 @@
+package com.joinai_support.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the audit log export; {@code email} identifies the requesting admin.
+ */
+@Data
+public class AuditLogExportRequest {
+    private String email;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Integer statusCode;
+}
@@ -0,0 +1,28 @@
+package com.joinai_support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unmanaged copy of an audit log row, so exports do not fill the persistence context.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditLogRow {
+    private Long id;
+    private LocalDateTime createdAt;
+    private String method;
+    private String path;
+    private String queryString;
+    private Integer statusCode;
+    private String actorEmail;
+    private String clientIp;
+    private String userAgent;
+    private Long durationMs;
+    private String requestBody;
+    private String responseBody;
+}
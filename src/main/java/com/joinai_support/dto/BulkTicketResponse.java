@@ -0,0 +1,12 @@
+package com.joinai_support.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkTicketResponse {
+    private int accepted;
+    private int rejected;
+    private List<BulkTicketResult> results;
+}
@@ -0,0 +1,10 @@
+package com.joinai_support.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkTicketResult {
+    private int index;
+    private Long ticketId;
+    private String error;
+}
@@ -0,0 +1,40 @@
+package com.joinai_support.dto;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.User;
+import com.joinai_support.utils.Role;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Who is calling: the account fields request handlers authorize on, detached from the persistence context
+ * so it can be cached across requests. The password is kept only as a digest.
+ */
+public record Identity(Long id, String email, Role role, Boolean enabled, boolean admin, byte[] passwordDigest) {
+
+    public static Identity of(User user) {
+        return new Identity(user.getId(), user.getEmail(), user.getRole(), user.getEnabled(),
+                user instanceof Admin, digest(user.getPassword()));
+    }
+
+    public boolean passwordMatches(String candidate) {
+        return candidate != null && passwordDigest != null && MessageDigest.isEqual(passwordDigest, digest(candidate));
+    }
+
+    public boolean isEnabled() {
+        return !Boolean.FALSE.equals(enabled);
+    }
+
+    private static byte[] digest(String password) {
+        if (password == null) {
+            return null;
+        }
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.joinai_support.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap change marker for a set of rows: how many there are and when the newest of them was last written.
+ * Any insert, update or delete within the set changes at least one of the two.
+ */
+public record ResourceVersion(Long count, LocalDateTime lastModified) {
+}
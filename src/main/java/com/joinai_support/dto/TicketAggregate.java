@@ -0,0 +1,77 @@
+package com.joinai_support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of the grouped ticket aggregate query: counters for all tickets of one assignee
+ * (agentId is null for unassigned tickets). Durations are summed in seconds.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketAggregate {
+    private Long agentId;
+
+    private long total;
+    private long open;
+    private long closed;
+    private long newTickets;
+    private long highPriority;
+    private long urgent;
+    private long replies;
+    private long firstContactResolved;
+
+    private long responses;
+    private long responseSeconds;
+    private long slaBreaches;
+    private long resolutions;
+    private long resolutionSeconds;
+
+    private long distributionHigh;
+    private long distributionLow;
+    private long distributionNormal;
+    private long distributionUrgent;
+
+    private long launchedDaily;
+    private long launchedWeekly;
+    private long launchedMonthly;
+    private long resolvedDaily;
+    private long resolvedWeekly;
+    private long resolvedMonthly;
+    private long oldOpen;
+    private long closedLaunchedDaily;
+    private long closedLaunchedWeekly;
+    private long closedLaunchedMonthly;
+
+    public void add(TicketAggregate other) {
+        total += other.total;
+        open += other.open;
+        closed += other.closed;
+        newTickets += other.newTickets;
+        highPriority += other.highPriority;
+        urgent += other.urgent;
+        replies += other.replies;
+        firstContactResolved += other.firstContactResolved;
+        responses += other.responses;
+        responseSeconds += other.responseSeconds;
+        slaBreaches += other.slaBreaches;
+        resolutions += other.resolutions;
+        resolutionSeconds += other.resolutionSeconds;
+        distributionHigh += other.distributionHigh;
+        distributionLow += other.distributionLow;
+        distributionNormal += other.distributionNormal;
+        distributionUrgent += other.distributionUrgent;
+        launchedDaily += other.launchedDaily;
+        launchedWeekly += other.launchedWeekly;
+        launchedMonthly += other.launchedMonthly;
+        resolvedDaily += other.resolvedDaily;
+        resolvedWeekly += other.resolvedWeekly;
+        resolvedMonthly += other.resolvedMonthly;
+        oldOpen += other.oldOpen;
+        closedLaunchedDaily += other.closedLaunchedDaily;
+        closedLaunchedWeekly += other.closedLaunchedWeekly;
+        closedLaunchedMonthly += other.closedLaunchedMonthly;
+    }
+}
@@ -0,0 +1,10 @@
+package com.joinai_support.dto;
+
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
+
+/**
+ * Priority and category assigned to a new ticket at intake.
+ */
+public record TicketClassification(Priority priority, Category category) {
+}
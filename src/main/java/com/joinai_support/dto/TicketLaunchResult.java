@@ -0,0 +1,7 @@
+package com.joinai_support.dto;
+
+/**
+ * Outcome of an idempotent ticket launch; {@code replayed} is set when an earlier request already opened the ticket.
+ */
+public record TicketLaunchResult(Long ticketId, String message, boolean replayed) {
+}
@@ -0,0 +1,26 @@
+package com.joinai_support.dto;
+
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Status;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and keyset position for the ticket listing. Every filter is optional;
+ * {@code cursor} is the {@code nextCursor} of the previous page.
+ */
+@Data
+public class TicketListRequest {
+    private String email;
+    private Status status;
+    private Priority priority;
+    private Category category;
+    private Long agentId;
+    private String issuerEmail;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String cursor;
+    private Integer size;
+}
@@ -0,0 +1,12 @@
+package com.joinai_support.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TicketPage {
+    private List<TicketSummary> tickets;
+    // null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,7 @@
+package com.joinai_support.dto;
+
+/**
+ * Content fingerprint of an open ticket, as loaded to seed the duplicate index.
+ */
+public record TicketSignature(Long ticketId, String issuerEmail, Long signature) {
+}
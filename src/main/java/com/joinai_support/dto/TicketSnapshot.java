@@ -0,0 +1,50 @@
+package com.joinai_support.dto;
+
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Status;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of the ticket fields that in-memory read models derive their counters from.
+ */
+public record TicketSnapshot(
+        Long id,
+        Long agentId,
+        Status status,
+        Priority priority,
+        LocalDateTime launchTimestamp,
+        LocalDateTime servedTimestamp,
+        LocalDateTime updatedAt,
+        Duration timeLimit,
+        Integer replyCount
+) {
+
+    public static TicketSnapshot of(SupportTicket ticket) {
+        return new TicketSnapshot(
+                ticket.getId(),
+                ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId(),
+                ticket.getStatus(),
+                ticket.getPriority(),
+                ticket.getLaunchTimestamp(),
+                ticket.getServedTimestamp(),
+                ticket.getUpdatedAt(),
+                ticket.getTimeLimit(),
+                ticket.getReplyCount()
+        );
+    }
+
+    public int replies() {
+        return replyCount == null ? 0 : replyCount;
+    }
+
+    // Same rule as the dashboard: a closed ticket is resolved when it was last served
+    public LocalDateTime closedTimestamp() {
+        if (status != Status.CLOSED) {
+            return null;
+        }
+        return servedTimestamp != null ? servedTimestamp : updatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.joinai_support.dto;
+
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lean listing row: scalar ticket columns plus the assignee's identity, without replies or entity graphs.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketSummary {
+    private Long id;
+    private String subject;
+    private Status status;
+    private Priority priority;
+    private Category category;
+    private String issuerEmail;
+    private LocalDateTime launchTimestamp;
+    private LocalDateTime updatedAt;
+    private LocalDateTime servedTimestamp;
+    private Long assignedAgentId;
+    private String assignedAgentName;
+    private String assignedAgentEmail;
+    private Integer replyCount;
+}
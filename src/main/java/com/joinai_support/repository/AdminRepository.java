@@ -1,17 +1,35 @@
 package com.joinai_support.repository;
 
 import com.joinai_support.domain.Admin;
+import com.joinai_support.dto.AgentOpenTicketCount;
+import com.joinai_support.dto.ResourceVersion;
 import com.joinai_support.utils.Role;
+import com.joinai_support.utils.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 
 @Repository
-public interface AdminRepository extends JpaRepository<Admin, Integer> {
+public interface AdminRepository extends JpaRepository<Admin, Long> {
 
     Admin findByEmail(String email);
     List<Admin> findAllByRole(Role role);
 
+    @Query("select new com.joinai_support.dto.AgentOpenTicketCount(a.id, a.enabled, count(t)) " +
+            "from Admin a left join a.tickets t on t.status in :statuses " +
+            "where a.role = :role group by a.id, a.enabled")
+    List<AgentOpenTicketCount> countOpenTicketsByAgent(@Param("role") Role role,
+                                                       @Param("statuses") Collection<Status> statuses);
+
+    @Query("select new com.joinai_support.dto.ResourceVersion(count(a), max(a.updatedAt)) from Admin a where a.id = :id")
+    ResourceVersion versionById(@Param("id") Long id);
+
+    @Query("select new com.joinai_support.dto.ResourceVersion(count(a), max(a.updatedAt)) from Admin a where a.role = :role")
+    ResourceVersion versionByRole(@Param("role") Role role);
+
 }
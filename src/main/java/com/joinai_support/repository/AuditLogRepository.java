@@ -1,12 +1,37 @@
 package com.joinai_support.repository;
 
 import com.joinai_support.domain.AuditLog;
+import com.joinai_support.dto.AuditLogRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /**
+     * Forward-only cursor over the logs in [from, to); must be consumed inside a read-only transaction
+     * so the driver fetches in chunks instead of loading the whole result.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.joinai_support.dto.AuditLogRow(l.id, l.createdAt, l.method, l.path, l.queryString, " +
+            "l.statusCode, l.actorEmail, l.clientIp, l.userAgent, l.durationMs, l.requestBody, l.responseBody) " +
+            "from AuditLog l where l.createdAt >= :from and l.createdAt < :to " +
+            "and (:statusCode is null or l.statusCode = :statusCode) order by l.createdAt, l.id")
+    Stream<AuditLogRow> streamRows(@Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("statusCode") Integer statusCode);
 }
@@ -0,0 +1,38 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.domain.MailOutboxMessage;
+import com.joinai_support.utils.MailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    /**
+     * Locks the next due messages, skipping rows another dispatcher already holds.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from MailOutboxMessage m where m.status = :status and m.nextAttemptAt <= :now " +
+            "order by m.nextAttemptAt, m.id")
+    List<MailOutboxMessage> lockDue(@Param("status") MailStatus status,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    @Modifying
+    @Query("delete from MailOutboxMessage m where m.status in :statuses and m.createdAt < :cutoff")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<MailStatus> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,18 +2,149 @@ package com.joinai_support.repository;
 
 import com.joinai_support.domain.Admin;
 import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.ResourceVersion;
+import com.joinai_support.dto.TicketAggregate;
+import com.joinai_support.dto.TicketSignature;
+import com.joinai_support.dto.TicketSnapshot;
+import com.joinai_support.utils.Status;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long> {
+public interface SupportTicketRepository extends JpaRepository<SupportTicket, Long>, SupportTicketRepositoryCustom {
 
 
     List<SupportTicket> findAll();
 
     List<SupportTicket> findAllByAssignedTo(Admin assignedTo);
 
+    List<SupportTicket> findAllByAssignedToId(Long assignedToId);
+
+    /**
+     * Locks the next unassigned tickets of the pull queue, skipping rows another agent is claiming right now.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from SupportTicket t where t.assignedTo is null and t.status in :statuses " +
+            "order by t.priorityRank, t.launchTimestamp, t.id")
+    List<SupportTicket> lockNextUnassigned(@Param("statuses") Collection<Status> statuses, Pageable pageable);
+
+    // Serializes concurrent updates of one ticket, so the position of an appended reply is not taken twice
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from SupportTicket t where t.id = :id")
+    Optional<SupportTicket> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Appends a reply at the given position of the ordered reply list, without loading the list.
+     * The caller passes the ticket's current reply count and then increments it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ticket_replies (ticket_id, reply_order, reply) VALUES (:ticketId, :position, :reply)",
+            nativeQuery = true)
+    void insertReply(@Param("ticketId") Long ticketId, @Param("position") int position, @Param("reply") String reply);
+
+    @Query("select new com.joinai_support.dto.TicketSignature(t.id, t.issuerEmail, t.contentSignature) " +
+            "from SupportTicket t where t.status in :statuses and t.contentSignature is not null")
+    List<TicketSignature> findOpenSignatures(@Param("statuses") Collection<Status> statuses);
+
+    /**
+     * Every write stamps updatedAt, so the newest stamp (one probe of the updated_at index) covers inserts and
+     * updates without counting the table. Tickets are only deleted with their agent, so the admin count stands
+     * in for the ticket count.
+     */
+    @Query("select new com.joinai_support.dto.ResourceVersion((select count(a) from Admin a), max(t.updatedAt)) " +
+            "from SupportTicket t")
+    ResourceVersion version();
+
+    @Query("select new com.joinai_support.dto.ResourceVersion(count(t), max(t.updatedAt)) " +
+            "from SupportTicket t where t.assignedTo.id = :agentId")
+    ResourceVersion versionByAgent(@Param("agentId") Long agentId);
+
+    // Newest first; replies are loaded lazily in batches only if the caller touches them
+    @Query("select t from SupportTicket t where t.assignedTo.id = :agentId order by t.launchTimestamp desc, t.id desc")
+    List<SupportTicket> findRecentByAgent(@Param("agentId") Long agentId, Pageable pageable);
+
+    // Detail view: the ticket with its replies and assignee in a single query
+    @Query("select t from SupportTicket t left join fetch t.replies left join fetch t.assignedTo where t.id = :id")
+    Optional<SupportTicket> findDetailById(@Param("id") Long id);
+
+    /**
+     * The agent's tickets changed strictly after the (updatedAt, id) position, oldest change first.
+     * Served by the (admin_id, updated_at, id) index, so an idle poll is a single empty range probe.
+     */
+    @Query("select t from SupportTicket t where t.assignedTo.id = :agentId " +
+            "and (t.updatedAt > :since or (t.updatedAt = :since and t.id > :afterId)) " +
+            "order by t.updatedAt, t.id")
+    List<SupportTicket> findChangedForAgent(@Param("agentId") Long agentId,
+                                            @Param("since") LocalDateTime since,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @EntityGraph(attributePaths = "assignedTo")
     List<SupportTicket> findAllByIssuerEmailIgnoreCaseOrderByLaunchTimestampDesc(String issuerEmail);
+
+    // Must be consumed inside a transaction; rows are read with a forward-only cursor
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select new com.joinai_support.dto.TicketSnapshot(t.id, a.id, t.status, t.priority, t.launchTimestamp, " +
+            "t.servedTimestamp, t.updatedAt, t.timeLimit, t.replyCount) " +
+            "from SupportTicket t left join t.assignedTo a")
+    Stream<TicketSnapshot> streamAllSnapshots();
+
+    @Query("select avg(t.timeLimit by second) from SupportTicket t where t.timeLimit is not null")
+    Double averageTimeLimitSeconds();
+
+    /**
+     * Every dashboard counter in one pass, grouped by assignee (one extra row for unassigned tickets).
+     * Optionally restricted to a single agent.
+     */
+    @Query("select new com.joinai_support.dto.TicketAggregate(a.id, count(t), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.OPEN then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.NEW then 1 else 0 end), " +
+            "sum(case when t.priority in (com.joinai_support.utils.Priority.HIGH, com.joinai_support.utils.Priority.URGENT, com.joinai_support.utils.Priority.CRITICAL) then 1 else 0 end), " +
+            "sum(case when t.priority in (com.joinai_support.utils.Priority.URGENT, com.joinai_support.utils.Priority.CRITICAL) then 1 else 0 end), " +
+            "sum(coalesce(t.replyCount, 0)), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.replyCount, 0) <= 1 then 1 else 0 end), " +
+            "sum(case when t.servedTimestamp >= t.launchTimestamp then 1 else 0 end), " +
+            "sum(case when t.servedTimestamp >= t.launchTimestamp then (t.servedTimestamp - t.launchTimestamp) by second else 0 end), " +
+            "sum(case when t.servedTimestamp >= t.launchTimestamp and (t.servedTimestamp - t.launchTimestamp) by second >= 90000 then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.servedTimestamp, t.updatedAt) >= t.launchTimestamp then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.servedTimestamp, t.updatedAt) >= t.launchTimestamp " +
+            "    then (coalesce(t.servedTimestamp, t.updatedAt) - t.launchTimestamp) by second else 0 end), " +
+            "sum(case when t.priority = com.joinai_support.utils.Priority.HIGH then 1 else 0 end), " +
+            "sum(case when t.priority = com.joinai_support.utils.Priority.LOW then 1 else 0 end), " +
+            "sum(case when t.priority in (com.joinai_support.utils.Priority.NORMAL, com.joinai_support.utils.Priority.MEDIUM) then 1 else 0 end), " +
+            "sum(case when t.priority in (com.joinai_support.utils.Priority.URGENT, com.joinai_support.utils.Priority.CRITICAL) then 1 else 0 end), " +
+            "sum(case when t.launchTimestamp >= :dailyStart then 1 else 0 end), " +
+            "sum(case when t.launchTimestamp >= :weeklyStart then 1 else 0 end), " +
+            "sum(case when t.launchTimestamp >= :monthlyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.servedTimestamp, t.updatedAt) >= :dailyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.servedTimestamp, t.updatedAt) >= :weeklyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and coalesce(t.servedTimestamp, t.updatedAt) >= :monthlyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.OPEN and t.launchTimestamp <= :dailyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and t.launchTimestamp >= :dailyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and t.launchTimestamp >= :weeklyStart then 1 else 0 end), " +
+            "sum(case when t.status = com.joinai_support.utils.Status.CLOSED and t.launchTimestamp >= :monthlyStart then 1 else 0 end)) " +
+            "from SupportTicket t left join t.assignedTo a " +
+            "where (:agentId is null or a.id = :agentId) " +
+            "group by a.id")
+    List<TicketAggregate> aggregateByAgent(@Param("agentId") Long agentId,
+                                           @Param("dailyStart") LocalDateTime dailyStart,
+                                           @Param("weeklyStart") LocalDateTime weeklyStart,
+                                           @Param("monthlyStart") LocalDateTime monthlyStart);
 }
@@ -0,0 +1,23 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.dto.TicketListRequest;
+import com.joinai_support.dto.TicketSummary;
+import com.joinai_support.utils.TicketCursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface SupportTicketRepositoryCustom {
+
+    /**
+     * Newest-first ticket summaries matching the filters, strictly after the given keyset position.
+     * Only the predicates actually requested end up in the query, so each filter can use its own index.
+     */
+    List<TicketSummary> findSummaries(TicketListRequest filter, TicketCursor after, int limit);
+
+    /**
+     * Every summary matching the filters, newest first, read through a forward-only cursor of the given fetch size.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<TicketSummary> streamSummaries(TicketListRequest filter, int fetchSize);
+}
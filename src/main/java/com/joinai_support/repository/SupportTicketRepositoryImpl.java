@@ -0,0 +1,82 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.dto.TicketListRequest;
+import com.joinai_support.dto.TicketSummary;
+import com.joinai_support.utils.TicketCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class SupportTicketRepositoryImpl implements SupportTicketRepositoryCustom {
+
+    private static final String SELECT_SUMMARY = "select new com.joinai_support.dto.TicketSummary(" +
+            "t.id, t.subject, t.status, t.priority, t.category, t.issuerEmail, t.launchTimestamp, t.updatedAt, " +
+            "t.servedTimestamp, a.id, a.firstName, a.email, t.replyCount) " +
+            "from SupportTicket t left join t.assignedTo a where 1 = 1";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketSummary> findSummaries(TicketListRequest filter, TicketCursor after, int limit) {
+        return summaryQuery(filter, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<TicketSummary> streamSummaries(TicketListRequest filter, int fetchSize) {
+        return summaryQuery(filter, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private TypedQuery<TicketSummary> summaryQuery(TicketListRequest filter, TicketCursor after) {
+        StringBuilder jpql = new StringBuilder(SELECT_SUMMARY);
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.getStatus() != null) {
+            jpql.append(" and t.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        if (filter.getPriority() != null) {
+            jpql.append(" and t.priority = :priority");
+            parameters.put("priority", filter.getPriority());
+        }
+        if (filter.getCategory() != null) {
+            jpql.append(" and t.category = :category");
+            parameters.put("category", filter.getCategory());
+        }
+        if (filter.getAgentId() != null) {
+            jpql.append(" and t.assignedTo.id = :agentId");
+            parameters.put("agentId", filter.getAgentId());
+        }
+        if (filter.getIssuerEmail() != null && !filter.getIssuerEmail().isBlank()) {
+            jpql.append(" and t.issuerEmail = :issuerEmail");
+            parameters.put("issuerEmail", filter.getIssuerEmail().trim());
+        }
+        if (filter.getFrom() != null) {
+            jpql.append(" and t.launchTimestamp >= :from");
+            parameters.put("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            jpql.append(" and t.launchTimestamp < :to");
+            parameters.put("to", filter.getTo());
+        }
+        if (after != null) {
+            jpql.append(" and (t.launchTimestamp < :afterLaunch or (t.launchTimestamp = :afterLaunch and t.id < :afterId))");
+            parameters.put("afterLaunch", after.timestamp());
+            parameters.put("afterId", after.id());
+        }
+        jpql.append(" order by t.launchTimestamp desc, t.id desc");
+
+        TypedQuery<TicketSummary> query = entityManager.createQuery(jpql.toString(), TicketSummary.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,39 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.domain.TicketOutboxEvent;
+import com.joinai_support.utils.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TicketOutboxEventRepository extends JpaRepository<TicketOutboxEvent, Long> {
+
+    /**
+     * Locks the oldest pending event of each ticket, if it is due, skipping rows another relay holds.
+     * Later events of a ticket only become eligible once everything before them has been handled.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from TicketOutboxEvent e where e.status = com.joinai_support.utils.OutboxStatus.PENDING " +
+            "and e.nextAttemptAt <= :now " +
+            "and e.id = (select min(h.id) from TicketOutboxEvent h " +
+            "            where h.ticketId = e.ticketId and h.status = com.joinai_support.utils.OutboxStatus.PENDING) " +
+            "order by e.id")
+    List<TicketOutboxEvent> lockDueHeads(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from TicketOutboxEvent e where e.status = :status and e.processedAt < :cutoff")
+    int deleteByStatusAndProcessedAtBefore(@Param("status") OutboxStatus status,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,12 +2,18 @@ package com.joinai_support.repository;
 
 import com.joinai_support.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
+    // Case-insensitive lookup for the identity cache; the oldest account wins if emails collide by case
+    @Query("select u from User u where lower(u.email) = :email order by u.id")
+    List<User> findAllByNormalizedEmail(@Param("email") String email);
 }
@@ -28,6 +28,8 @@ public interface AdminService {
 
     ResponseEntity<List<SupportTicket>> getAllTickets();
 
+    ResponseEntity<TicketPage> listTickets(TicketListRequest request);
+
     ResponseEntity<SystemAnalytics> systemAnalytics();
 
     ResponseEntity<AdminDTO> getProfileData(EmailRequest profileRequest);
@@ -17,12 +17,18 @@ public interface SupportTicketService {
 
     ResponseEntity<List<SupportTicket>> getMyTickets(Authenticate authenticationResponse);
 
+    ResponseEntity<TicketPage> getMyTicketPage(TicketListRequest request);
+
+    ResponseEntity<SupportTicket> getMyTicketDetail(String email, Long ticketId);
+
     ResponseEntity<StatisticsDTO> getStatistics();
 
     ResponseEntity<StatsByAgent> getStatsByAgent(Admin admin);
 
     ResponseEntity<List<TicketDTO>> getNotifications(String email);
 
+    ResponseEntity<List<TicketDTO>> getNotifications(String email, String since);
+
     ResponseEntity<TicketLookupResponse> lookupTicketContext(TicketLookupRequest request);
 
     ResponseEntity<String> appendConversationEvent(TicketConversationEventRequest request);
@@ -1,6 +1,8 @@
 package com.joinai_support.service;
 
 import com.joinai_support.domain.TicketAnalysis;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -10,13 +12,13 @@ public interface TicketAnalysisService {
 
     TicketAnalysis createRecord(String ticketId, String question, String issuerEmail);
 
-    TicketAnalysis addReply(String ticketId, String reply);
+    void addReply(String ticketId, String reply);
 
     Optional<TicketAnalysis> getTicket(String ticketId);
 
     List<String> associatedReplies(String ticketId);
 
-    TicketAnalysis appendConversationEntry(
+    void appendConversationEntry(
             String ticketId,
             String actorRole,
             String channel,
@@ -25,4 +27,18 @@ public interface TicketAnalysisService {
     );
 
     List<TicketAnalysis.TicketConversationEntry> getConversationHistory(String ticketId);
+
+    void createRecord(String ticketId, String question, String issuerEmail, Priority priority, Category category,
+                      Long eventId);
+
+    void addReply(String ticketId, String reply, LocalDateTime timestamp, Long eventId);
+
+    void appendConversationEntry(
+            String ticketId,
+            String actorRole,
+            String channel,
+            String message,
+            LocalDateTime timestamp,
+            Long eventId
+    );
 }
@@ -1,48 +1,67 @@
 package com.joinai_support.service.serviceImpl;
 
 import com.joinai_support.domain.SupportTicket;
-import com.joinai_support.domain.User;
 import com.joinai_support.dto.*;
 import com.joinai_support.repository.AdminRepository;
 import com.joinai_support.domain.Admin;
 import com.joinai_support.repository.SupportTicketRepository;
-import com.joinai_support.repository.UserRepository;
 import com.joinai_support.service.AdminService;
 import com.joinai_support.utils.*;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 @Service
 public class AdminServiceImpl implements AdminService {
     private static final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
+    private static final int DEFAULT_LISTING_SIZE = 50;
 
     private final AdminRepository adminRepository;
-    private final UserRepository userRepository;
     private final SupportTicketRepository supportTicketRepository;
     private final MailSenderService mailSenderService;
+    private final AgentLoadIndex agentLoadIndex;
+    private final AnalyticsReadModel analyticsReadModel;
+    private final IdentityCache identityCache;
+    private final LastLoginTracker lastLoginTracker;
+    private final int listingMaxSize;
+    private final int legacyListingCap;
     private RandomPasswordGenerator passwordGenerator;
 
 
     @Autowired
     public AdminServiceImpl(AdminRepository adminRepository,
-                            UserRepository userRepository,
                             SupportTicketRepository supportTicketRepository,
-                            MailSenderService mailSenderService) {
+                            MailSenderService mailSenderService,
+                            AgentLoadIndex agentLoadIndex,
+                            AnalyticsReadModel analyticsReadModel,
+                            IdentityCache identityCache,
+                            LastLoginTracker lastLoginTracker,
+                            @Value("${tickets.listing.max-size:200}") int listingMaxSize,
+                            @Value("${tickets.listing.legacy-cap:500}") int legacyListingCap) {
         this.adminRepository = adminRepository;
-        this.userRepository = userRepository;
         this.supportTicketRepository = supportTicketRepository;
         this.mailSenderService = mailSenderService;
+        this.agentLoadIndex = agentLoadIndex;
+        this.analyticsReadModel = analyticsReadModel;
+        this.identityCache = identityCache;
+        this.lastLoginTracker = lastLoginTracker;
+        this.listingMaxSize = Math.max(1, listingMaxSize);
+        this.legacyListingCap = Math.max(1, legacyListingCap);
     }
 
     @Transactional
@@ -55,6 +74,11 @@ public class AdminServiceImpl implements AdminService {
             agent.setRole(Role.AGENT);
             agent.setEnabled(Boolean.TRUE);
             adminRepository.save(agent);
+            identityCache.invalidate(agent.getEmail());
+            TransactionCallbacks.afterCommit(() -> {
+                agentLoadIndex.registerAgent(agent.getId(), true);
+                analyticsReadModel.registerAgent(agent);
+            });
 
             // Send welcome email to the new agent
             try {
@@ -76,8 +100,7 @@ public class AdminServiceImpl implements AdminService {
     @Transactional
     public ResponseEntity<String> createAdmin(UserDTO admin) {
 
-        Optional<Admin> optionalAdmin = Optional.ofNullable(adminRepository.findByEmail(admin.getEmail()));
-        if (optionalAdmin.isPresent()) {
+        if (identityCache.find(admin.getEmail()).isPresent()) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Admin already exists");
         }
 
@@ -89,6 +112,7 @@ public class AdminServiceImpl implements AdminService {
             admin1.setRole(Role.ADMIN);
             admin1.setEnabled(Boolean.TRUE);
             adminRepository.save(admin1);
+            identityCache.invalidate(admin1.getEmail());
 
             // Send welcome email to the new admin
             try {
@@ -108,19 +132,30 @@ public class AdminServiceImpl implements AdminService {
 
     public ResponseEntity<List<Admin>> getAll() {
         List<Admin> adminList = adminRepository.findAllByRole(Role.AGENT);
-        return ResponseEntity.ok(adminList);
+        return ResponseEntity.ok(lastLoginTracker.merge(adminList));
     }
 
     public Admin getAdmin(String email) {
-        return adminRepository.findByEmail(email);
+        Identity identity = resolveAdmin(email);
+        return identity == null ? null : adminRepository.findById(identity.id()).orElse(null);
     }
 
-    public ResponseEntity<List<Admin>> getAllAgents(GetResponse request) {
-        Optional<User> user = userRepository.findByEmail(request.getToken());
+    /**
+     * The admin or agent account behind the email, from the identity cache; null if there is none.
+     */
+    public Identity resolveAdmin(String email) {
+        return identityCache.find(email).filter(Identity::admin).orElse(null);
+    }
+
+    public boolean isKnownCaller(String token) {
+        return identityCache.find(token).isPresent();
+    }
 
-        if (user.isPresent()) {
+    public ResponseEntity<List<Admin>> getAllAgents(GetResponse request) {
+        if (isKnownCaller(request.getToken())) {
             List<Admin> allAdmins = adminRepository.findAll();
-            return ResponseEntity.ok(allAdmins.stream().filter(admin -> admin.getRole() == Role.AGENT).toList());
+            return ResponseEntity.ok(lastLoginTracker.merge(
+                    allAdmins.stream().filter(admin -> admin.getRole() == Role.AGENT).toList()));
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -135,8 +170,8 @@ public class AdminServiceImpl implements AdminService {
             return ResponseEntity.badRequest().build();
         }
 
-        Optional<User> actor = userRepository.findByEmail(request.getToken());
-        if (actor.isEmpty() || actor.get().getRole() != Role.ADMIN) {
+        Optional<Identity> actor = identityCache.find(request.getToken());
+        if (actor.isEmpty() || actor.get().role() != Role.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
@@ -151,15 +186,18 @@ public class AdminServiceImpl implements AdminService {
 
         target.setEnabled(request.getEnabled());
         Admin updated = adminRepository.save(target);
+        identityCache.invalidate(updated.getEmail());
+        TransactionCallbacks.afterCommit(() ->
+                agentLoadIndex.setEnabled(updated.getId(), Boolean.TRUE.equals(updated.getEnabled())));
         return ResponseEntity.ok(updated);
     }
 
     @Transactional
     public ResponseEntity<Admin> editProfile(AdminDTO request) {
-        Optional<User> user = userRepository.findByEmail(request.getEmail());
+        Identity identity = resolveAdmin(request.getEmail());
+        Admin admin = identity == null ? null : adminRepository.findById(identity.id()).orElse(null);
 
-        if (user.isPresent()) {
-            Admin admin = adminRepository.findByEmail(request.getEmail());
+        if (admin != null) {
 
             // Check if each field is not empty before setting
             if (request.getName() != null && !request.getName().isEmpty()) {
@@ -192,6 +230,8 @@ public class AdminServiceImpl implements AdminService {
 
             // Save the updated admin profile
             adminRepository.save(admin);
+            identityCache.invalidate(admin.getEmail());
+            TransactionCallbacks.afterCommit(() -> analyticsReadModel.registerAgent(admin));
 
             return ResponseEntity.ok(admin);
         } else {
@@ -203,154 +243,157 @@ public class AdminServiceImpl implements AdminService {
     @Transactional
     public ResponseEntity<Admin> deleteProfile(GetResponse request) {
 
-        Optional<User> user = userRepository.findByEmail(request.getToken());
-
-        if (user.isPresent()) {
+        if (identityCache.find(request.getToken()).isPresent()) {
             Admin admin = adminRepository.findByEmail(request.getAdmin().getEmail());
             adminRepository.delete(admin);
+            identityCache.invalidate(admin.getEmail());
+            TransactionCallbacks.afterCommit(() -> {
+                agentLoadIndex.removeAgent(admin.getId());
+                analyticsReadModel.removeAgent(admin.getId());
+            });
         return ResponseEntity.ok(admin);
         }
          return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
-    @Transactional
     public void TrackActivity(Admin agent) {
-       Admin user = adminRepository.findByEmail(agent.getEmail());
-       if (user != null) {
-           user.setLastLogin(LocalDateTime.now());
-       }
+        recordLogin(agent.getId());
+    }
 
+    // Buffered in memory and written in batches by LastLoginTracker
+    public void recordLogin(Long adminId) {
+        lastLoginTracker.record(adminId);
     }
 
+    // Change markers for conditional requests; aggregate queries only, no entities are loaded
+    public ResourceVersion profileVersion(Long adminId) {
+        return adminRepository.versionById(adminId);
+    }
+
+    public ResourceVersion agentsVersion() {
+        return adminRepository.versionByRole(Role.AGENT);
+    }
+
+    public ResourceVersion ticketsVersion() {
+        return supportTicketRepository.version();
+    }
+
+    // Kept for existing clients: the newest tickets only, capped at tickets.listing.legacy-cap; use listTickets to page
     public ResponseEntity<List<SupportTicket>> getAllTickets() {
-        return ResponseEntity.ok(supportTicketRepository.findAll());
+        Pageable newest = PageRequest.of(0, legacyListingCap,
+                Sort.by(Sort.Order.desc("launchTimestamp"), Sort.Order.desc("id")));
+        return ResponseEntity.ok(supportTicketRepository.findAll(newest).getContent());
+    }
+
+    /**
+     * One page of ticket summaries, newest first. Paging seeks past the (launchTimestamp, id) of the
+     * previous page's last row, so deep pages cost the same as the first one.
+     */
+    public ResponseEntity<TicketPage> listTickets(TicketListRequest request) {
+        TicketCursor after;
+        try {
+            after = request.getCursor() == null || request.getCursor().isBlank()
+                    ? null : TicketCursor.decode(request.getCursor());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int size = request.getSize() == null || request.getSize() < 1
+                ? DEFAULT_LISTING_SIZE : Math.min(request.getSize(), listingMaxSize);
+
+        // One extra row tells whether another page exists
+        List<TicketSummary> rows = supportTicketRepository.findSummaries(request, after, size + 1);
+        TicketPage page = new TicketPage();
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            TicketSummary last = rows.get(size - 1);
+            page.setNextCursor(new TicketCursor(last.getLaunchTimestamp(), last.getId()).encode());
+        }
+        page.setTickets(rows);
+        return ResponseEntity.ok(page);
     }
 
+    // Served from the incrementally maintained read model; the full recompute only runs until it is seeded
     @Transactional
     public ResponseEntity<SystemAnalytics> systemAnalytics() {
-        List<SupportTicket> allTickets = supportTicketRepository.findAll();
+        return analyticsReadModel.snapshot()
+                .map(ResponseEntity::ok)
+                .orElseGet(this::computeSystemAnalytics);
+    }
+
+    // Database-side recompute used until the read model is seeded: one grouped aggregate query,
+    // so neither transferred rows nor heap use grow with the ticket table
+    private ResponseEntity<SystemAnalytics> computeSystemAnalytics() {
         List<Admin> agents = adminRepository.findAllByRole(Role.AGENT);
 
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime dailyStart = now.minusHours(24);
-        LocalDateTime weeklyStart = now.minusDays(7);
-        LocalDateTime monthlyStart = now.minusDays(30);
-
-        long totalTickets = allTickets.size();
-        long openTickets = allTickets.stream().filter(ticket -> ticket.getStatus() == Status.OPEN).count();
-        long closedTickets = allTickets.stream().filter(ticket -> ticket.getStatus() == Status.CLOSED).count();
-        long newTickets = allTickets.stream().filter(ticket -> ticket.getStatus() == Status.NEW).count();
-
-        long dailyTickets = allTickets.stream()
-                .filter(ticket -> isWithinWindow(ticket.getLaunchTimestamp(), dailyStart))
-                .count();
-        long weeklyTickets = allTickets.stream()
-                .filter(ticket -> isWithinWindow(ticket.getLaunchTimestamp(), weeklyStart))
-                .count();
-        long monthlyTickets = allTickets.stream()
-                .filter(ticket -> isWithinWindow(ticket.getLaunchTimestamp(), monthlyStart))
-                .count();
-
-        long resolvedToday = allTickets.stream()
-                .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), dailyStart))
-                .count();
-        long resolvedThisWeek = allTickets.stream()
-                .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), weeklyStart))
-                .count();
-        long resolvedThisMonth = allTickets.stream()
-                .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), monthlyStart))
-                .count();
+        List<TicketAggregate> rows = supportTicketRepository.aggregateByAgent(
+                null,
+                now.minus(StatsWindow.DAILY.getLength()),
+                now.minus(StatsWindow.WEEKLY.getLength()),
+                now.minus(StatsWindow.MONTHLY.getLength()));
+
+        TicketAggregate totals = new TicketAggregate();
+        Map<Long, TicketAggregate> byAgent = new HashMap<>();
+        for (TicketAggregate row : rows) {
+            totals.add(row);
+            if (row.getAgentId() != null) {
+                byAgent.put(row.getAgentId(), row);
+            }
+        }
 
         List<PerformanceDTO> performanceByAgent = new ArrayList<>();
         List<Ticket> ticketDistribution = new ArrayList<>();
 
         for (Admin admin : agents) {
-            List<SupportTicket> agentTickets = admin.getTickets() == null ? new ArrayList<>() : admin.getTickets();
-
-            long agentTotal = agentTickets.size();
-            long agentOpen = agentTickets.stream().filter(ticket -> ticket.getStatus() == Status.OPEN).count();
-            long agentClosed = agentTickets.stream().filter(ticket -> ticket.getStatus() == Status.CLOSED).count();
-            long agentNew = agentTickets.stream().filter(ticket -> ticket.getStatus() == Status.NEW).count();
-            long oldOpenTickets = agentTickets.stream()
-                    .filter(ticket -> ticket.getStatus() == Status.OPEN)
-                    .filter(ticket -> ticket.getLaunchTimestamp() != null && !ticket.getLaunchTimestamp().isAfter(dailyStart))
-                    .count();
-            long agentHighPriority = agentTickets.stream()
-                    .filter(ticket -> ticket.getPriority() == Priority.HIGH
-                            || ticket.getPriority() == Priority.URGENT
-                            || ticket.getPriority() == Priority.CRITICAL)
-                    .count();
-            long agentUrgent = agentTickets.stream()
-                    .filter(ticket -> ticket.getPriority() == Priority.URGENT || ticket.getPriority() == Priority.CRITICAL)
-                    .count();
-            long repliesCount = agentTickets.stream()
-                    .mapToLong(ticket -> ticket.getReplies() == null ? 0 : ticket.getReplies().size())
-                    .sum();
-
-            long solvedPast24Hours = agentTickets.stream()
-                    .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), dailyStart))
-                    .count();
-            long solvedPastWeek = agentTickets.stream()
-                    .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), weeklyStart))
-                    .count();
-            long solvedPastMonth = agentTickets.stream()
-                    .filter(ticket -> isWithinWindow(resolveClosedTimestamp(ticket), monthlyStart))
-                    .count();
+            TicketAggregate agent = byAgent.getOrDefault(admin.getId(), new TicketAggregate());
 
             PerformanceDTO performanceDTO = new PerformanceDTO();
             performanceDTO.setAgentName(resolveAgentName(admin));
             performanceDTO.setAgentEmail(admin.getEmail());
-            performanceDTO.setTotalTickets(agentTotal);
-            performanceDTO.setOpenTickets(agentOpen);
-            performanceDTO.setClosedTickets(agentClosed);
-            performanceDTO.setNewTickets(agentNew);
-            performanceDTO.setOldTickets(oldOpenTickets);
-            performanceDTO.setHighPriorityTickets(agentHighPriority);
-            performanceDTO.setUrgentTickets(agentUrgent);
-            performanceDTO.setRepliesCount(repliesCount);
-            performanceDTO.setSolvedPast24Hours(solvedPast24Hours);
-            performanceDTO.setSolvedPastWeek(solvedPastWeek);
-            performanceDTO.setSolvedPastMonth(solvedPastMonth);
-            performanceDTO.setFrc(calculateFcrRate(agentTickets));
-            performanceDTO.setAvgResponseTimeMinutes(calculateAverageResponseTimeMinutes(agentTickets));
-            performanceDTO.setAvgResolutionTimeMinutes(calculateAverageResolutionTimeMinutes(agentTickets));
-            performanceDTO.setResolutionRate(percentage(agentClosed, agentTotal));
-            performanceDTO.setSlaBreachRate(calculateSlaBreachRate(agentTickets));
+            performanceDTO.setTotalTickets(agent.getTotal());
+            performanceDTO.setOpenTickets(agent.getOpen());
+            performanceDTO.setClosedTickets(agent.getClosed());
+            performanceDTO.setNewTickets(agent.getNewTickets());
+            performanceDTO.setOldTickets(agent.getOldOpen());
+            performanceDTO.setHighPriorityTickets(agent.getHighPriority());
+            performanceDTO.setUrgentTickets(agent.getUrgent());
+            performanceDTO.setRepliesCount(agent.getReplies());
+            performanceDTO.setSolvedPast24Hours(agent.getResolvedDaily());
+            performanceDTO.setSolvedPastWeek(agent.getResolvedWeekly());
+            performanceDTO.setSolvedPastMonth(agent.getResolvedMonthly());
+            performanceDTO.setFrc(percentage(agent.getFirstContactResolved(), agent.getClosed()));
+            performanceDTO.setAvgResponseTimeMinutes(averageMinutes(agent.getResponseSeconds(), agent.getResponses()));
+            performanceDTO.setAvgResolutionTimeMinutes(averageMinutes(agent.getResolutionSeconds(), agent.getResolutions()));
+            performanceDTO.setResolutionRate(percentage(agent.getClosed(), agent.getTotal()));
+            performanceDTO.setSlaBreachRate(percentage(agent.getSlaBreaches(), agent.getResponses()));
             performanceByAgent.add(performanceDTO);
 
             Ticket agentPriority = new Ticket();
             agentPriority.setName(resolveAgentName(admin));
-            for (SupportTicket ticket : agentTickets) {
-                if (ticket.getPriority() == Priority.HIGH) {
-                    agentPriority.setHigh(agentPriority.getHigh() + 1);
-                } else if (ticket.getPriority() == Priority.LOW) {
-                    agentPriority.setLow(agentPriority.getLow() + 1);
-                } else if (ticket.getPriority() == Priority.NORMAL || ticket.getPriority() == Priority.MEDIUM) {
-                    agentPriority.setNormal(agentPriority.getNormal() + 1);
-                } else if (ticket.getPriority() == Priority.URGENT || ticket.getPriority() == Priority.CRITICAL) {
-                    agentPriority.setUrgent(agentPriority.getUrgent() + 1);
-                }
-            }
+            agentPriority.setHigh(agent.getDistributionHigh());
+            agentPriority.setLow(agent.getDistributionLow());
+            agentPriority.setNormal(agent.getDistributionNormal());
+            agentPriority.setUrgent(agent.getDistributionUrgent());
             ticketDistribution.add(agentPriority);
         }
 
         SystemAnalytics systemAnalytics = new SystemAnalytics();
-        systemAnalytics.setTotalTickets(totalTickets);
-        systemAnalytics.setOpenTickets(openTickets);
-        systemAnalytics.setClosedTickets(closedTickets);
-        systemAnalytics.setNewTickets(newTickets);
+        systemAnalytics.setTotalTickets(totals.getTotal());
+        systemAnalytics.setOpenTickets(totals.getOpen());
+        systemAnalytics.setClosedTickets(totals.getClosed());
+        systemAnalytics.setNewTickets(totals.getNewTickets());
         systemAnalytics.setTotalAgents(agents.size());
-        systemAnalytics.setDailyTickets(dailyTickets);
-        systemAnalytics.setWeeklyTickets(weeklyTickets);
-        systemAnalytics.setMonthlyTickets(monthlyTickets);
-        systemAnalytics.setResolvedToday(resolvedToday);
-        systemAnalytics.setResolvedThisWeek(resolvedThisWeek);
-        systemAnalytics.setResolvedThisMonth(resolvedThisMonth);
-        systemAnalytics.setAvgResponseTimeMinutes(calculateAverageResponseTimeMinutes(allTickets));
-        systemAnalytics.setAvgResolutionTimeMinutes(calculateAverageResolutionTimeMinutes(allTickets));
-        systemAnalytics.setClosureRate(percentage(closedTickets, totalTickets));
-        systemAnalytics.setFrcRate(calculateFcrRate(allTickets));
-        systemAnalytics.setSlaBreachRate(calculateSlaBreachRate(allTickets));
+        systemAnalytics.setDailyTickets(totals.getLaunchedDaily());
+        systemAnalytics.setWeeklyTickets(totals.getLaunchedWeekly());
+        systemAnalytics.setMonthlyTickets(totals.getLaunchedMonthly());
+        systemAnalytics.setResolvedToday(totals.getResolvedDaily());
+        systemAnalytics.setResolvedThisWeek(totals.getResolvedWeekly());
+        systemAnalytics.setResolvedThisMonth(totals.getResolvedMonthly());
+        systemAnalytics.setAvgResponseTimeMinutes(averageMinutes(totals.getResponseSeconds(), totals.getResponses()));
+        systemAnalytics.setAvgResolutionTimeMinutes(averageMinutes(totals.getResolutionSeconds(), totals.getResolutions()));
+        systemAnalytics.setClosureRate(percentage(totals.getClosed(), totals.getTotal()));
+        systemAnalytics.setFrcRate(percentage(totals.getFirstContactResolved(), totals.getClosed()));
+        systemAnalytics.setSlaBreachRate(percentage(totals.getSlaBreaches(), totals.getResponses()));
         systemAnalytics.setPerformance(performanceByAgent);
         systemAnalytics.setTickets(ticketDistribution);
 
@@ -364,102 +407,11 @@ public class AdminServiceImpl implements AdminService {
         return admin.getEmail();
     }
 
-    private LocalDateTime resolveClosedTimestamp(SupportTicket ticket) {
-        if (ticket == null || ticket.getStatus() != Status.CLOSED) {
-            return null;
-        }
-        if (ticket.getServedTimestamp() != null) {
-            return ticket.getServedTimestamp();
-        }
-        return ticket.getUpdatedAt();
-    }
-
-    private boolean isWithinWindow(LocalDateTime value, LocalDateTime startInclusive) {
-        if (value == null || startInclusive == null) {
-            return false;
-        }
-        return value.isAfter(startInclusive) || value.isEqual(startInclusive);
-    }
-
-    private double calculateAverageResponseTimeMinutes(List<SupportTicket> tickets) {
-        double averageMinutes = tickets.stream()
-                .map(this::resolveResponseDuration)
-                .flatMap(Optional::stream)
-                .mapToLong(Duration::toMinutes)
-                .average()
-                .orElse(0.0);
-        return roundToTwoDecimals(averageMinutes);
-    }
-
-    private double calculateAverageResolutionTimeMinutes(List<SupportTicket> tickets) {
-        double averageMinutes = tickets.stream()
-                .map(this::resolveResolutionDuration)
-                .flatMap(Optional::stream)
-                .mapToLong(Duration::toMinutes)
-                .average()
-                .orElse(0.0);
-        return roundToTwoDecimals(averageMinutes);
-    }
-
-    private double calculateFcrRate(List<SupportTicket> tickets) {
-        long closedTickets = tickets.stream().filter(ticket -> ticket.getStatus() == Status.CLOSED).count();
-        long firstContactResolved = tickets.stream()
-                .filter(ticket -> ticket.getStatus() == Status.CLOSED)
-                .filter(ticket -> ticket.getReplies() == null || ticket.getReplies().size() <= 1)
-                .count();
-        return percentage(firstContactResolved, closedTickets);
-    }
-
-    private double calculateSlaBreachRate(List<SupportTicket> tickets) {
-        List<Duration> responseDurations = tickets.stream()
-                .map(this::resolveResponseDuration)
-                .flatMap(Optional::stream)
-                .toList();
-
-        if (responseDurations.isEmpty()) {
+    private double averageMinutes(long totalSeconds, long count) {
+        if (count <= 0) {
             return 0.0;
         }
-
-        long breached = responseDurations.stream()
-                .filter(duration -> duration.toHours() > 24)
-                .count();
-        return percentage(breached, responseDurations.size());
-    }
-
-    private Optional<Duration> resolveResponseDuration(SupportTicket ticket) {
-        if (ticket == null || ticket.getLaunchTimestamp() == null || ticket.getServedTimestamp() == null) {
-            return Optional.empty();
-        }
-
-        Duration duration = Duration.between(ticket.getLaunchTimestamp(), ticket.getServedTimestamp());
-        if (duration.isNegative()) {
-            return Optional.empty();
-        }
-        return Optional.of(duration);
-    }
-
-    private Optional<Duration> resolveResolutionDuration(SupportTicket ticket) {
-        if (ticket == null || ticket.getStatus() != Status.CLOSED || ticket.getLaunchTimestamp() == null) {
-            return Optional.empty();
-        }
-
-        if (ticket.getTimeLimit() != null && !ticket.getTimeLimit().isNegative()) {
-            return Optional.of(ticket.getTimeLimit());
-        }
-
-        LocalDateTime resolvedAt = ticket.getServedTimestamp() != null
-                ? ticket.getServedTimestamp()
-                : ticket.getUpdatedAt();
-
-        if (resolvedAt == null) {
-            return Optional.empty();
-        }
-
-        Duration duration = Duration.between(ticket.getLaunchTimestamp(), resolvedAt);
-        if (duration.isNegative()) {
-            return Optional.empty();
-        }
-        return Optional.of(duration);
+        return roundToTwoDecimals(totalSeconds / 60.0 / count);
     }
 
     private double percentage(long value, long total) {
@@ -476,7 +428,8 @@ public class AdminServiceImpl implements AdminService {
     public ResponseEntity<AdminDTO> getProfileData(EmailRequest profileRequest) {
         AdminDTO adminDTO = new AdminDTO();
 
-        Admin optionalAdmin = adminRepository.findByEmail(profileRequest.getEmail());
+        Identity identity = resolveAdmin(profileRequest.getEmail());
+        Admin optionalAdmin = identity == null ? null : adminRepository.findById(identity.id()).orElse(null);
         if (optionalAdmin != null) {
             adminDTO.setName(optionalAdmin.getFirstName());
             adminDTO.setEmail(optionalAdmin.getEmail());
@@ -498,13 +451,8 @@ public class AdminServiceImpl implements AdminService {
             return ResponseEntity.badRequest().build();
         }
 
-        String email = request.getEmail().trim();
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Admin admin = adminRepository.findByEmail(email);
+        Identity identity = resolveAdmin(request.getEmail());
+        Admin admin = identity == null ? null : adminRepository.findById(identity.id()).orElse(null);
         if (admin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -533,13 +481,8 @@ public class AdminServiceImpl implements AdminService {
             return ResponseEntity.badRequest().build();
         }
 
-        String email = request.getEmail().trim();
-        Optional<User> user = userRepository.findByEmail(email);
-        if (user.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-
-        Admin admin = adminRepository.findByEmail(email);
+        Identity identity = resolveAdmin(request.getEmail());
+        Admin admin = identity == null ? null : adminRepository.findById(identity.id()).orElse(null);
         if (admin == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -597,6 +540,7 @@ public class AdminServiceImpl implements AdminService {
             mailSenderService.sendPasswordResetEmail(newPassword, request.getEmail());
             userExists.get().setPassword(newPassword);
             adminRepository.save(userExists.get());
+            identityCache.invalidate(userExists.get().getEmail());
             return ResponseEntity.ok("Success");
 
         }
@@ -0,0 +1,179 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joinai_support.dto.AgentEvent;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Carries agent dashboard events between instances over PostgreSQL LISTEN/NOTIFY, so an agent's stream
+ * receives changes committed on any instance. Notifications are sent from a separate thread on their own
+ * connection, after the change has committed. Delivery is best effort: whatever is published while an
+ * instance's listener reconnects is lost, so dashboards resync through the notifications delta when their
+ * stream reconnects. Without PostgreSQL (e.g. H2 in tests) events stay on the publishing instance.
+ */
+@Component
+public class AgentEventChannel {
+    private static final Logger logger = LoggerFactory.getLogger(AgentEventChannel.class);
+
+    static final String CHANNEL = "agent_events";
+    private static final int POLL_MS = 5000;
+    private static final int NOTIFY_QUEUE = 10_000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    // Our own notifications come back to us too; they are already delivered locally
+    final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService notifier = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(NOTIFY_QUEUE), new CustomizableThreadFactory("agent-events-notify-"));
+
+    private volatile BiConsumer<Long, AgentEvent> receiver = (agentId, event) -> {
+    };
+    private volatile boolean running;
+    private Thread listener;
+
+    public AgentEventChannel(DataSource dataSource,
+                             ObjectMapper objectMapper,
+                             @Value("${tickets.events.fan-out:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                logger.info("Agent event fan-out needs PostgreSQL; events stay on the publishing instance");
+                return;
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not check the database for agent event fan-out; events stay on the publishing instance", e);
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "agent-events-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    public void onReceive(BiConsumer<Long, AgentEvent> receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Hands the event to the other instances. Must only be called once the change behind it has committed.
+     */
+    public void broadcast(Long agentId, AgentEvent event) {
+        if (!running) {
+            return;
+        }
+        try {
+            notifier.execute(() -> send(new Message(instanceId, agentId, event)));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Agent event fan-out queue full; dropping event for agent {}", agentId);
+        }
+    }
+
+    @PreDestroy
+    synchronized void shutdown() {
+        running = false;
+        notifier.shutdownNow();
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    private void send(Message message) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement notify = connection.prepareStatement("select pg_notify(?, ?)")) {
+            notify.setString(1, CHANNEL);
+            notify.setString(2, objectMapper.writeValueAsString(message));
+            notify.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to fan out agent event for agent {}", message.agentId(), e);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+                try {
+                    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                    while (running) {
+                        PGNotification[] notifications = pgConnection.getNotifications(POLL_MS);
+                        if (notifications != null) {
+                            for (PGNotification notification : notifications) {
+                                receive(notification.getParameter());
+                            }
+                        }
+                    }
+                } finally {
+                    // The connection goes back to the pool, which must not keep listening on it
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("UNLISTEN *");
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Agent event listener lost its connection; reconnecting", e);
+                try {
+                    Thread.sleep(POLL_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void receive(String payload) {
+        try {
+            Message message = objectMapper.readValue(payload, Message.class);
+            if (!instanceId.equals(message.origin()) && message.agentId() != null) {
+                receiver.accept(message.agentId(), message.event());
+            }
+        } catch (Exception e) {
+            logger.warn("Ignoring malformed agent event notification", e);
+        }
+    }
+
+    record Message(String origin, Long agentId, AgentEvent event) {
+    }
+}
@@ -0,0 +1,206 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.dto.AgentEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-Sent Events fan-out to agent dashboards.
+ * Connections are async servlet requests, so an idle stream holds no container thread. Each connection
+ * has a small bounded buffer drained by a shared pool of sender threads; a client that falls a full
+ * buffer behind is disconnected instead of slowing publishers down, and reconnects to resync.
+ * Events published here also reach the agent's streams on other instances through {@link AgentEventChannel}.
+ * That relay is best effort, so a reconnecting client resyncs through the notifications delta.
+ */
+@Component
+public class AgentEventHub {
+    private static final Logger logger = LoggerFactory.getLogger(AgentEventHub.class);
+
+    // Sent through the buffer like any event, so a stalled connection is also noticed while idle
+    private static final AgentEvent HEARTBEAT = new AgentEvent(null, null, null, null, null, null, null, null);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ThreadPoolExecutor senders;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    private final AgentEventChannel channel;
+    private final Counter published;
+    private final Counter evicted;
+
+    public AgentEventHub(MeterRegistry meterRegistry,
+                         AgentEventChannel channel,
+                         @Value("${tickets.events.sender-threads:4}") int senderThreads,
+                         @Value("${tickets.events.buffer-size:64}") int bufferSize,
+                         @Value("${tickets.events.timeout-ms:1800000}") long timeoutMs) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMs = Math.max(1000, timeoutMs);
+
+        int threads = Math.max(1, senderThreads);
+        // A connection has at most one drain task queued, so the task queue is bounded by the connection count
+        this.senders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("agent-events-"));
+
+        this.channel = channel;
+        channel.onReceive(this::deliver);
+
+        meterRegistry.gauge("agent.events.connections", connections);
+        this.published = meterRegistry.counter("agent.events.published");
+        this.evicted = meterRegistry.counter("agent.events.evicted");
+    }
+
+    /**
+     * Opens a stream for the agent. The first event is the current stats so the dashboard can render at once.
+     */
+    public SseEmitter subscribe(Long agentId, AgentEvent initial) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(agentId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        subscribers.computeIfAbsent(agentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        connections.incrementAndGet();
+        if (initial != null) {
+            subscriber.enqueue(initial);
+        }
+        return emitter;
+    }
+
+    /**
+     * Sends the event to the agent's streams on every instance. Call only after the change has committed.
+     */
+    public void publish(Long agentId, AgentEvent event) {
+        if (agentId == null) {
+            return;
+        }
+        deliver(agentId, event);
+        channel.broadcast(agentId, event);
+    }
+
+    private void deliver(Long agentId, AgentEvent event) {
+        Set<Subscriber> agentSubscribers = subscribers.get(agentId);
+        if (agentSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : agentSubscribers) {
+            subscriber.enqueue(event);
+            published.increment();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tickets.events.heartbeat-ms:25000}",
+            fixedDelayString = "${tickets.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(agentSubscribers -> agentSubscribers.forEach(s -> s.enqueue(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(agentSubscribers -> agentSubscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.agentId, (id, agentSubscribers) -> {
+                agentSubscribers.remove(subscriber);
+                return agentSubscribers.isEmpty() ? null : agentSubscribers;
+            });
+        }
+    }
+
+    private void evict(Subscriber subscriber, String reason) {
+        if (!subscriber.closed.get()) {
+            evicted.increment();
+            logger.info("Disconnecting event stream of agent {}: {}", subscriber.agentId, reason);
+        }
+        remove(subscriber);
+        subscriber.emitter.complete();
+    }
+
+    private final class Subscriber {
+        private final Long agentId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<AgentEvent> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long agentId, SseEmitter emitter) {
+            this.agentId = agentId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void enqueue(AgentEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                evict(this, "slow consumer, " + bufferSize + " events behind");
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                AgentEvent event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    if (event == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(sequence.incrementAndGet()))
+                                .name(event.type().name())
+                                .data(event, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                evict(this, "send failed: " + e.getMessage());
+            } finally {
+                scheduled.set(false);
+            }
+            // An event may have arrived between the last poll and clearing the flag
+            if (!closed.get() && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.dto.AgentOpenTicketCount;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory picture of how many open tickets each agent is carrying.
+ * Seeded at startup from a single aggregate query and then kept current
+ * by the ticket and agent lifecycle, so picking an assignee never touches the database.
+ * An agent picked for a ticket that is still being saved carries a reservation, so concurrent intakes
+ * spread out instead of all seeing the same least loaded agent. The counts are reloaded periodically,
+ * which repairs drift and brings in tickets assigned through other instances.
+ */
+@Component
+public class AgentLoadIndex {
+    private static final Logger logger = LoggerFactory.getLogger(AgentLoadIndex.class);
+
+    static final Set<Status> OPEN_STATUSES = EnumSet.of(Status.OPEN, Status.NEW);
+
+    private final AdminRepository adminRepository;
+
+    // agentId -> current load, for every known agent (enabled or not)
+    private final Map<Long, AgentLoad> loads = new ConcurrentHashMap<>();
+    // enabled agents ordered by load, then id, so the head is always the next assignee
+    private final ConcurrentSkipListSet<AgentLoad> available = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(AgentLoad::load).thenComparing(AgentLoad::agentId));
+
+    public AgentLoadIndex(AdminRepository adminRepository) {
+        this.adminRepository = adminRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reload();
+        logger.info("Agent load index seeded with {} agents", loads.size());
+    }
+
+    // A ticket change committed while the counts are read may be missed or counted twice until the next reload
+    @Scheduled(initialDelayString = "${tickets.assignment.reseed-interval-ms:300000}",
+            fixedDelayString = "${tickets.assignment.reseed-interval-ms:300000}")
+    public void reconcile() {
+        reload();
+    }
+
+    private void reload() {
+        List<AgentOpenTicketCount> counts = adminRepository.countOpenTicketsByAgent(Role.AGENT, OPEN_STATUSES);
+        synchronized (this) {
+            Map<Long, AgentLoad> previous = Map.copyOf(loads);
+            loads.clear();
+            available.clear();
+            for (AgentOpenTicketCount count : counts) {
+                AgentLoad reserved = previous.get(count.getAgentId());
+                put(new AgentLoad(count.getAgentId(), count.getOpenTickets(), reserved == null ? 0 : reserved.reserved(),
+                        !Boolean.FALSE.equals(count.getEnabled())));
+            }
+        }
+    }
+
+    /**
+     * Reserves the enabled agent with the fewest open and reserved tickets. The caller releases the reservation
+     * once its transaction has finished; a committed ticket is counted as open by then.
+     * @return the reserved agent, if any agent is enabled
+     */
+    public synchronized Optional<Long> reserveLeastLoadedAgent() {
+        AgentLoad head = available.isEmpty() ? null : available.first();
+        if (head == null) {
+            return Optional.empty();
+        }
+        replace(head, head.withReserved(head.reserved() + 1));
+        return Optional.of(head.agentId());
+    }
+
+    /**
+     * Reserves assignees for a batch of new tickets, each in turn the then least loaded agent.
+     * Every non-null entry holds one reservation for the caller to release.
+     * @return one agent id per ticket, or nulls when no agent is enabled
+     */
+    public synchronized List<Long> reserveLeastLoadedAgents(int count) {
+        PriorityQueue<long[]> queue = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(load -> load[0]).thenComparingLong(load -> load[1]));
+        for (AgentLoad load : available) {
+            queue.add(new long[]{load.load(), load.agentId()});
+        }
+
+        List<Long> assignees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long[] head = queue.poll();
+            if (head == null) {
+                assignees.add(null);
+                continue;
+            }
+            assignees.add(head[1]);
+            head[0]++;
+            queue.add(head);
+        }
+        for (Long agentId : assignees) {
+            if (agentId != null) {
+                AgentLoad load = loads.get(agentId);
+                replace(load, load.withReserved(load.reserved() + 1));
+            }
+        }
+        return assignees;
+    }
+
+    public synchronized void release(Long agentId) {
+        AgentLoad load = agentId == null ? null : loads.get(agentId);
+        if (load != null && load.reserved() > 0) {
+            replace(load, load.withReserved(load.reserved() - 1));
+        }
+    }
+
+    public long openTickets(Long agentId) {
+        AgentLoad load = agentId == null ? null : loads.get(agentId);
+        return load == null ? 0 : load.openTickets();
+    }
+
+    public synchronized void registerAgent(Long agentId, boolean enabled) {
+        if (agentId == null || loads.containsKey(agentId)) {
+            return;
+        }
+        put(new AgentLoad(agentId, 0, 0, enabled));
+    }
+
+    public synchronized void removeAgent(Long agentId) {
+        AgentLoad load = agentId == null ? null : loads.remove(agentId);
+        if (load != null) {
+            available.remove(load);
+        }
+    }
+
+    public synchronized void setEnabled(Long agentId, boolean enabled) {
+        AgentLoad load = agentId == null ? null : loads.get(agentId);
+        if (load != null && load.enabled() != enabled) {
+            replace(load, new AgentLoad(agentId, load.openTickets(), load.reserved(), enabled));
+        }
+    }
+
+    /**
+     * Applies one ticket change: assignment, close, reopen or reassignment.
+     * Agents not tracked by the index (e.g. admins) are ignored.
+     */
+    public synchronized void onTicketChanged(Long previousAgentId, Status previousStatus, Long agentId, Status status) {
+        boolean wasCounted = previousAgentId != null && OPEN_STATUSES.contains(previousStatus);
+        boolean isCounted = agentId != null && OPEN_STATUSES.contains(status);
+        if (wasCounted && isCounted && previousAgentId.equals(agentId)) {
+            return;
+        }
+        if (wasCounted) {
+            adjust(previousAgentId, -1);
+        }
+        if (isCounted) {
+            adjust(agentId, 1);
+        }
+    }
+
+    private void adjust(Long agentId, long delta) {
+        AgentLoad load = loads.get(agentId);
+        if (load != null) {
+            replace(load, new AgentLoad(agentId, Math.max(0, load.openTickets() + delta), load.reserved(), load.enabled()));
+        }
+    }
+
+    private void replace(AgentLoad current, AgentLoad next) {
+        available.remove(current);
+        put(next);
+    }
+
+    private void put(AgentLoad load) {
+        loads.put(load.agentId(), load);
+        if (load.enabled()) {
+            available.add(load);
+        }
+    }
+
+    record AgentLoad(Long agentId, long openTickets, long reserved, boolean enabled) {
+
+        long load() {
+            return openTickets + reserved;
+        }
+
+        AgentLoad withReserved(long reserved) {
+            return new AgentLoad(agentId, openTickets, reserved, enabled);
+        }
+    }
+}
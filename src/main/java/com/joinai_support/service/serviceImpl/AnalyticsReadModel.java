@@ -0,0 +1,460 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.dto.PerformanceDTO;
+import com.joinai_support.dto.StatsByAgent;
+import com.joinai_support.dto.SystemAnalytics;
+import com.joinai_support.dto.Ticket;
+import com.joinai_support.dto.TicketSnapshot;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.RollingWindowCounter;
+import com.joinai_support.utils.StatsWindow;
+import com.joinai_support.utils.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Materialized version of the admin dashboard analytics.
+ * Every ticket contributes a fixed set of counter increments derived from its current state, so a
+ * lifecycle event is applied by removing the old state's contribution and adding the new one.
+ * Windowed figures come from {@link RollingWindowCounter}s, so reading a snapshot is O(agents)
+ * and never touches the database.
+ * <p>
+ * Only changes committed on this instance reach {@link #onTicketChanged}. With several instances, each model
+ * picks up the others' changes at its next rebuild, so the dashboards can lag by up to
+ * {@code analytics.rebuild-interval-ms}.
+ */
+@Component
+public class AnalyticsReadModel {
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsReadModel.class);
+
+    private static final int SEED_ATTEMPTS = 3;
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final AdminRepository adminRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private State state = new State();
+    private boolean seeded;
+    // Changes made while a rebuild is loading, replayed onto the loaded state before it is swapped in
+    private List<Consumer<State>> pending;
+    private boolean loadingTickets;
+
+    public AnalyticsReadModel(SupportTicketRepository supportTicketRepository,
+                              AdminRepository adminRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.supportTicketRepository = supportTicketRepository;
+        this.adminRepository = adminRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        for (int attempt = 1; attempt <= SEED_ATTEMPTS; attempt++) {
+            if (rebuild()) {
+                logger.info("Analytics read model seeded");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the model from scratch and compares it with the incrementally maintained one.
+     * Any drift is logged and repaired by swapping in the recomputed state.
+     */
+    @Scheduled(initialDelayString = "${analytics.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${analytics.rebuild-interval-ms:3600000}")
+    public void verifyAndRebuild() {
+        rebuild();
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    public synchronized Optional<SystemAnalytics> snapshot() {
+        return seeded ? Optional.of(state.toAnalytics(LocalDateTime.now())) : Optional.empty();
+    }
+
+    /**
+     * Tickets launched in each window for one agent, and how many of those are now closed.
+     * Empty until the model is seeded or when the agent is not tracked (e.g. an ADMIN).
+     */
+    public synchronized Optional<StatsByAgent> statsByAgent(Long agentId) {
+        AgentEntry agent = agentId == null ? null : state.agents.get(agentId);
+        if (!seeded || agent == null) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Counters c = agent.counters;
+        StatsByAgent statsByAgent = new StatsByAgent();
+        statsByAgent.setDAILY_TICKETS(c.launched.sum(StatsWindow.DAILY, now));
+        statsByAgent.setSOLVED_DAILY(c.closedByLaunch.sum(StatsWindow.DAILY, now));
+        statsByAgent.setWEEKLY_TICKETS(c.launched.sum(StatsWindow.WEEKLY, now));
+        statsByAgent.setSOLVED_WEEKLY(c.closedByLaunch.sum(StatsWindow.WEEKLY, now));
+        statsByAgent.setMONTHLY_TICKETS(c.launched.sum(StatsWindow.MONTHLY, now));
+        statsByAgent.setSOLVED_MONTHLY(c.closedByLaunch.sum(StatsWindow.MONTHLY, now));
+        return Optional.of(statsByAgent);
+    }
+
+    public synchronized void onTicketChanged(TicketSnapshot before, TicketSnapshot after) {
+        if (before != null) {
+            state.apply(before, -1);
+        }
+        if (after != null) {
+            state.apply(after, 1);
+        }
+        // Changes from before the rebuild's ticket query started are already in what it reads
+        if (pending != null && loadingTickets) {
+            pending.add(fresh -> {
+                if (before != null) {
+                    fresh.apply(before, -1);
+                }
+                if (after != null) {
+                    fresh.apply(after, 1);
+                }
+            });
+        }
+    }
+
+    public synchronized void registerAgent(Admin agent) {
+        if (agent != null && agent.getId() != null && agent.getRole() == Role.AGENT) {
+            state.registerAgent(agent);
+            if (pending != null) {
+                pending.add(fresh -> fresh.registerAgent(agent));
+            }
+        }
+    }
+
+    public synchronized void removeAgent(Long agentId) {
+        state.removeAgent(agentId);
+        if (pending != null) {
+            pending.add(fresh -> fresh.removeAgent(agentId));
+        }
+    }
+
+    /**
+     * Loads a fresh state while changes keep being applied to the live one, then replays the changes made during
+     * the load onto it. Ticket changes are replayed from the start of the ticket query, which reads one snapshot
+     * of the table; a change committed just before that snapshot whose callback runs just after it is counted
+     * twice until the next rebuild.
+     */
+    private boolean rebuild() {
+        synchronized (this) {
+            if (pending != null) {
+                logger.debug("Analytics rebuild already running");
+                return false;
+            }
+            pending = new ArrayList<>();
+        }
+
+        State fresh;
+        try {
+            fresh = load();
+        } catch (Exception e) {
+            logger.error("Failed to rebuild analytics read model", e);
+            synchronized (this) {
+                pending = null;
+                loadingTickets = false;
+            }
+            return false;
+        }
+
+        synchronized (this) {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            loadingTickets = false;
+            if (seeded) {
+                LocalDateTime now = LocalDateTime.now();
+                SystemAnalytics live = state.toAnalytics(now);
+                SystemAnalytics recomputed = fresh.toAnalytics(now);
+                if (!live.equals(recomputed)) {
+                    logger.warn("Analytics read model drifted from a full recompute; replacing it. live={} recomputed={}",
+                            live, recomputed);
+                }
+            }
+            state = fresh;
+            seeded = true;
+            return true;
+        }
+    }
+
+    private State load() {
+        State fresh = new State();
+        adminRepository.findAllByRole(Role.AGENT).forEach(fresh::registerAgent);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            synchronized (this) {
+                loadingTickets = true;
+            }
+            try (Stream<TicketSnapshot> tickets = supportTicketRepository.streamAllSnapshots()) {
+                tickets.forEach(ticket -> fresh.apply(ticket, 1));
+            }
+        });
+        return fresh;
+    }
+
+    private static final class State {
+        private final Counters global = new Counters();
+        private final Map<Long, AgentEntry> agents = new TreeMap<>();
+
+        void registerAgent(Admin agent) {
+            agents.computeIfAbsent(agent.getId(), id -> new AgentEntry()).describe(agent);
+        }
+
+        // Deleting an agent cascades to its tickets, so their contributions leave the global counters too
+        void removeAgent(Long agentId) {
+            AgentEntry removed = agentId == null ? null : agents.remove(agentId);
+            if (removed != null) {
+                global.merge(removed.counters, -1);
+            }
+        }
+
+        void apply(TicketSnapshot ticket, int sign) {
+            global.apply(ticket, sign);
+            AgentEntry agent = ticket.agentId() == null ? null : agents.get(ticket.agentId());
+            if (agent != null) {
+                agent.counters.apply(ticket, sign);
+            }
+        }
+
+        SystemAnalytics toAnalytics(LocalDateTime now) {
+            List<PerformanceDTO> performanceByAgent = new ArrayList<>();
+            List<Ticket> ticketDistribution = new ArrayList<>();
+            for (AgentEntry agent : agents.values()) {
+                Counters c = agent.counters;
+
+                PerformanceDTO performanceDTO = new PerformanceDTO();
+                performanceDTO.setAgentName(agent.name);
+                performanceDTO.setAgentEmail(agent.email);
+                performanceDTO.setTotalTickets(c.total);
+                performanceDTO.setOpenTickets(c.open);
+                performanceDTO.setClosedTickets(c.closed);
+                performanceDTO.setNewTickets(c.newTickets);
+                performanceDTO.setOldTickets(c.open - c.openByLaunch.sum(StatsWindow.DAILY, now));
+                performanceDTO.setHighPriorityTickets(c.highPriority);
+                performanceDTO.setUrgentTickets(c.urgent);
+                performanceDTO.setRepliesCount(c.replies);
+                performanceDTO.setSolvedPast24Hours(c.resolved.sum(StatsWindow.DAILY, now));
+                performanceDTO.setSolvedPastWeek(c.resolved.sum(StatsWindow.WEEKLY, now));
+                performanceDTO.setSolvedPastMonth(c.resolved.sum(StatsWindow.MONTHLY, now));
+                performanceDTO.setFrc(percentage(c.firstContactResolved, c.closed));
+                performanceDTO.setAvgResponseTimeMinutes(average(c.responseMinutes, c.responses));
+                performanceDTO.setAvgResolutionTimeMinutes(average(c.resolutionMinutes, c.resolutions));
+                performanceDTO.setResolutionRate(percentage(c.closed, c.total));
+                performanceDTO.setSlaBreachRate(percentage(c.slaBreaches, c.responses));
+                performanceByAgent.add(performanceDTO);
+
+                Ticket agentPriority = new Ticket();
+                agentPriority.setName(agent.name);
+                agentPriority.setHigh(c.distributionHigh);
+                agentPriority.setLow(c.distributionLow);
+                agentPriority.setNormal(c.distributionNormal);
+                agentPriority.setUrgent(c.distributionUrgent);
+                ticketDistribution.add(agentPriority);
+            }
+
+            Counters g = global;
+            SystemAnalytics systemAnalytics = new SystemAnalytics();
+            systemAnalytics.setTotalTickets(g.total);
+            systemAnalytics.setOpenTickets(g.open);
+            systemAnalytics.setClosedTickets(g.closed);
+            systemAnalytics.setNewTickets(g.newTickets);
+            systemAnalytics.setTotalAgents(agents.size());
+            systemAnalytics.setDailyTickets(g.launched.sum(StatsWindow.DAILY, now));
+            systemAnalytics.setWeeklyTickets(g.launched.sum(StatsWindow.WEEKLY, now));
+            systemAnalytics.setMonthlyTickets(g.launched.sum(StatsWindow.MONTHLY, now));
+            systemAnalytics.setResolvedToday(g.resolved.sum(StatsWindow.DAILY, now));
+            systemAnalytics.setResolvedThisWeek(g.resolved.sum(StatsWindow.WEEKLY, now));
+            systemAnalytics.setResolvedThisMonth(g.resolved.sum(StatsWindow.MONTHLY, now));
+            systemAnalytics.setAvgResponseTimeMinutes(average(g.responseMinutes, g.responses));
+            systemAnalytics.setAvgResolutionTimeMinutes(average(g.resolutionMinutes, g.resolutions));
+            systemAnalytics.setClosureRate(percentage(g.closed, g.total));
+            systemAnalytics.setFrcRate(percentage(g.firstContactResolved, g.closed));
+            systemAnalytics.setSlaBreachRate(percentage(g.slaBreaches, g.responses));
+            systemAnalytics.setPerformance(performanceByAgent);
+            systemAnalytics.setTickets(ticketDistribution);
+            return systemAnalytics;
+        }
+    }
+
+    private static final class AgentEntry {
+        private final Counters counters = new Counters();
+        private String name;
+        private String email;
+
+        void describe(Admin agent) {
+            this.email = agent.getEmail();
+            this.name = agent.getFirstName() != null && !agent.getFirstName().isBlank()
+                    ? agent.getFirstName()
+                    : agent.getEmail();
+        }
+    }
+
+    /**
+     * Additive counters for a set of tickets. Applying a ticket with sign -1 exactly undoes applying it with +1.
+     */
+    private static final class Counters {
+        private long total;
+        private long open;
+        private long closed;
+        private long newTickets;
+        private long highPriority;
+        private long urgent;
+        private long replies;
+        private long firstContactResolved;
+        private long responses;
+        private long responseMinutes;
+        private long slaBreaches;
+        private long resolutions;
+        private long resolutionMinutes;
+        private long distributionHigh;
+        private long distributionLow;
+        private long distributionNormal;
+        private long distributionUrgent;
+        private final RollingWindowCounter launched = new RollingWindowCounter();
+        private final RollingWindowCounter resolved = new RollingWindowCounter();
+        private final RollingWindowCounter openByLaunch = new RollingWindowCounter();
+        private final RollingWindowCounter closedByLaunch = new RollingWindowCounter();
+
+        void apply(TicketSnapshot ticket, int sign) {
+            Status status = ticket.status();
+            Priority priority = ticket.priority();
+
+            total += sign;
+            if (status == Status.OPEN) {
+                open += sign;
+                openByLaunch.add(ticket.launchTimestamp(), sign);
+            } else if (status == Status.CLOSED) {
+                closed += sign;
+                closedByLaunch.add(ticket.launchTimestamp(), sign);
+                if (ticket.replies() <= 1) {
+                    firstContactResolved += sign;
+                }
+            } else if (status == Status.NEW) {
+                newTickets += sign;
+            }
+
+            if (priority == Priority.HIGH || priority == Priority.URGENT || priority == Priority.CRITICAL) {
+                highPriority += sign;
+            }
+            if (priority == Priority.URGENT || priority == Priority.CRITICAL) {
+                urgent += sign;
+            }
+            if (priority == Priority.HIGH) {
+                distributionHigh += sign;
+            } else if (priority == Priority.LOW) {
+                distributionLow += sign;
+            } else if (priority == Priority.NORMAL || priority == Priority.MEDIUM) {
+                distributionNormal += sign;
+            } else if (priority == Priority.URGENT || priority == Priority.CRITICAL) {
+                distributionUrgent += sign;
+            }
+
+            replies += (long) sign * ticket.replies();
+
+            Duration response = responseDuration(ticket);
+            if (response != null) {
+                responses += sign;
+                responseMinutes += sign * response.toMinutes();
+                if (response.toHours() > 24) {
+                    slaBreaches += sign;
+                }
+            }
+
+            Duration resolution = resolutionDuration(ticket);
+            if (resolution != null) {
+                resolutions += sign;
+                resolutionMinutes += sign * resolution.toMinutes();
+            }
+
+            launched.add(ticket.launchTimestamp(), sign);
+            resolved.add(ticket.closedTimestamp(), sign);
+        }
+
+        void merge(Counters other, int sign) {
+            total += sign * other.total;
+            open += sign * other.open;
+            closed += sign * other.closed;
+            newTickets += sign * other.newTickets;
+            highPriority += sign * other.highPriority;
+            urgent += sign * other.urgent;
+            replies += sign * other.replies;
+            firstContactResolved += sign * other.firstContactResolved;
+            responses += sign * other.responses;
+            responseMinutes += sign * other.responseMinutes;
+            slaBreaches += sign * other.slaBreaches;
+            resolutions += sign * other.resolutions;
+            resolutionMinutes += sign * other.resolutionMinutes;
+            distributionHigh += sign * other.distributionHigh;
+            distributionLow += sign * other.distributionLow;
+            distributionNormal += sign * other.distributionNormal;
+            distributionUrgent += sign * other.distributionUrgent;
+            launched.merge(other.launched, sign);
+            resolved.merge(other.resolved, sign);
+            openByLaunch.merge(other.openByLaunch, sign);
+            closedByLaunch.merge(other.closedByLaunch, sign);
+        }
+
+        private static Duration responseDuration(TicketSnapshot ticket) {
+            if (ticket.launchTimestamp() == null || ticket.servedTimestamp() == null) {
+                return null;
+            }
+            Duration duration = Duration.between(ticket.launchTimestamp(), ticket.servedTimestamp());
+            return duration.isNegative() ? null : duration;
+        }
+
+        private static Duration resolutionDuration(TicketSnapshot ticket) {
+            if (ticket.status() != Status.CLOSED || ticket.launchTimestamp() == null) {
+                return null;
+            }
+            if (ticket.timeLimit() != null && !ticket.timeLimit().isNegative()) {
+                return ticket.timeLimit();
+            }
+            LocalDateTime resolvedAt = ticket.closedTimestamp();
+            if (resolvedAt == null) {
+                return null;
+            }
+            Duration duration = Duration.between(ticket.launchTimestamp(), resolvedAt);
+            return duration.isNegative() ? null : duration;
+        }
+    }
+
+    private static double average(long sum, long count) {
+        if (count <= 0) {
+            return 0.0;
+        }
+        return roundToTwoDecimals((double) sum / count);
+    }
+
+    private static double percentage(long value, long total) {
+        if (total <= 0) {
+            return 0.0;
+        }
+        return roundToTwoDecimals((value * 100.0) / total);
+    }
+
+    private static double roundToTwoDecimals(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -5,7 +5,6 @@ import com.joinai_support.repository.AuditLogRepository;
 import com.joinai_support.service.AuditLogService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,15 +13,17 @@ import java.util.List;
 public class AuditLogServiceImpl implements AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
 
-    public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
     }
 
-    @Async
+    // Enqueue only; AuditLogWriter persists entries in batches off the request thread
     @Override
     public void record(AuditLog auditLog) {
-        auditLogRepository.save(auditLog);
+        auditLogWriter.submit(auditLog);
     }
 
     @Override
@@ -0,0 +1,223 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded buffer between the request path and the {@code api_audit_logs} table.
+ * Requests only enqueue; a single writer thread flushes whatever has accumulated as one JDBC batch
+ * once {@code batch-size} entries are waiting or {@code flush-interval-ms} has passed.
+ * When the buffer is full the configured {@link OverflowPolicy} decides what gets lost.
+ */
+@Component
+public class AuditLogWriter {
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO api_audit_logs " +
+            "(created_at, method, path, query_string, status_code, actor_email, client_ip, user_agent, " +
+            "duration_ms, request_body, response_body) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        /** Evict the oldest buffered entry to make room; never waits. */
+        DROP_OLDEST,
+        /** Once the buffer is half full keep only every n-th entry, drop the newest when full; never waits. */
+        SAMPLE,
+        /** Wait up to {@code block-timeout-ms} for room, then drop the entry. */
+        BLOCK
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditLog> buffer;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+    private final long blockTimeoutMs;
+
+    private final AtomicLong sampleSequence = new AtomicLong();
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${audit.writer.capacity:10000}") int capacity,
+                          @Value("${audit.writer.batch-size:200}") int batchSize,
+                          @Value("${audit.writer.flush-interval-ms:1000}") long flushIntervalMs,
+                          @Value("${audit.writer.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                          @Value("${audit.writer.sample-rate:10}") int sampleRate,
+                          @Value("${audit.writer.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = Math.max(1, capacity);
+        this.buffer = new ArrayBlockingQueue<>(this.capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.blockTimeoutMs = Math.max(0, blockTimeoutMs);
+
+        meterRegistry.gauge("audit.log.buffer.size", buffer, BlockingQueue::size);
+        this.dropped = meterRegistry.counter("audit.log.dropped", "policy", overflowPolicy.name());
+        this.written = meterRegistry.counter("audit.log.written");
+        this.failed = meterRegistry.counter("audit.log.failed");
+        this.flushTimer = meterRegistry.timer("audit.log.flush");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Drains everything still buffered before the datasource goes away.
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        List<AuditLog> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        while (!remaining.isEmpty()) {
+            List<AuditLog> batch = remaining.subList(0, Math.min(batchSize, remaining.size()));
+            flush(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    /**
+     * Hands an entry to the writer. Only the {@link OverflowPolicy#BLOCK} policy can make the caller wait.
+     */
+    public void submit(AuditLog auditLog) {
+        if (auditLog.getCreatedAt() == null) {
+            auditLog.setCreatedAt(LocalDateTime.now());
+        }
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        boolean accepted = switch (overflowPolicy) {
+            case DROP_OLDEST -> offerEvictingOldest(auditLog);
+            case SAMPLE -> offerSampled(auditLog);
+            case BLOCK -> offerWaiting(auditLog);
+        };
+        if (!accepted) {
+            dropped.increment();
+        }
+    }
+
+    private boolean offerEvictingOldest(AuditLog auditLog) {
+        while (!buffer.offer(auditLog)) {
+            if (buffer.poll() != null) {
+                dropped.increment();
+            }
+        }
+        return true;
+    }
+
+    private boolean offerSampled(AuditLog auditLog) {
+        if (buffer.size() >= capacity / 2 && sampleSequence.incrementAndGet() % sampleRate != 0) {
+            return false;
+        }
+        return buffer.offer(auditLog);
+    }
+
+    private boolean offerWaiting(AuditLog auditLog) {
+        try {
+            return buffer.offer(auditLog, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // stop() drains the buffer; just hand over what we already took
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Blocks for the first entry, then keeps collecting until the batch is full or the interval has passed
+    private void collect(List<AuditLog> batch) throws InterruptedException {
+        AuditLog first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            AuditLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<AuditLog> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditLog log : batch) {
+            rows.add(new Object[]{
+                    Timestamp.valueOf(log.getCreatedAt()),
+                    log.getMethod(),
+                    log.getPath(),
+                    log.getQueryString(),
+                    log.getStatusCode(),
+                    log.getActorEmail(),
+                    log.getClientIp(),
+                    log.getUserAgent(),
+                    log.getDurationMs(),
+                    log.getRequestBody(),
+                    log.getResponseBody()
+            });
+        }
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            written.increment(batch.size());
+        } catch (Exception e) {
+            failed.increment(batch.size());
+            logger.warn("Dropping {} audit log entries: {}", batch.size(), e.getMessage());
+        }
+    }
+}
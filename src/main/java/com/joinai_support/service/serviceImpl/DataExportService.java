@@ -0,0 +1,170 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.joinai_support.dto.AuditLogExportRequest;
+import com.joinai_support.dto.AuditLogRow;
+import com.joinai_support.dto.TicketListRequest;
+import com.joinai_support.dto.TicketSummary;
+import com.joinai_support.repository.AuditLogRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.ExportFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams tickets and audit logs as NDJSON or CSV straight from a database cursor to the response.
+ * Rows are unmanaged projections written one at a time, so memory use does not depend on the export size.
+ */
+@Service
+public class DataExportService {
+    private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+
+    // Effectively unbounded date range for exports without one; both ends are valid Postgres timestamps
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+    // Rows per driver round trip; matches the fetch size hint of AuditLogRepository.streamRows
+    private static final int FETCH_SIZE = 500;
+
+    private static final List<String> TICKET_COLUMNS = List.of("id", "subject", "status", "priority", "category",
+            "issuerEmail", "launchTimestamp", "updatedAt", "servedTimestamp", "assignedAgentId", "assignedAgentName",
+            "assignedAgentEmail", "replyCount");
+    private static final List<String> AUDIT_LOG_COLUMNS = List.of("id", "createdAt", "method", "path", "queryString",
+            "statusCode", "actorEmail", "clientIp", "userAgent", "durationMs", "requestBody", "responseBody");
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DataExportService(SupportTicketRepository supportTicketRepository,
+                             AuditLogRepository auditLogRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.supportTicketRepository = supportTicketRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StreamingResponseBody exportTickets(TicketListRequest filter, ExportFormat format, boolean gzip) {
+        return export("tickets", format, gzip, TICKET_COLUMNS,
+                () -> supportTicketRepository.streamSummaries(filter, FETCH_SIZE),
+                (TicketSummary t) -> new Object[]{t.getId(), t.getSubject(), t.getStatus(), t.getPriority(),
+                        t.getCategory(), t.getIssuerEmail(), t.getLaunchTimestamp(), t.getUpdatedAt(),
+                        t.getServedTimestamp(), t.getAssignedAgentId(), t.getAssignedAgentName(),
+                        t.getAssignedAgentEmail(), t.getReplyCount()});
+    }
+
+    public StreamingResponseBody exportAuditLogs(AuditLogExportRequest filter, ExportFormat format, boolean gzip) {
+        LocalDateTime from = filter.getFrom() == null ? EARLIEST : filter.getFrom();
+        LocalDateTime to = filter.getTo() == null ? LATEST : filter.getTo();
+        return export("audit logs", format, gzip, AUDIT_LOG_COLUMNS,
+                () -> auditLogRepository.streamRows(from, to, filter.getStatusCode()),
+                (AuditLogRow l) -> new Object[]{l.getId(), l.getCreatedAt(), l.getMethod(), l.getPath(),
+                        l.getQueryString(), l.getStatusCode(), l.getActorEmail(), l.getClientIp(),
+                        l.getUserAgent(), l.getDurationMs(), l.getRequestBody(), l.getResponseBody()});
+    }
+
+    private <T> StreamingResponseBody export(String what, ExportFormat format, boolean gzip, List<String> columns,
+                                             Supplier<Stream<T>> rows, Function<T, Object[]> csvValues) {
+        return responseStream -> {
+            long started = System.currentTimeMillis();
+            OutputStream out = gzip ? new GZIPOutputStream(responseStream, 8192) : responseStream;
+            Long written;
+            try {
+                // The cursor only streams inside a transaction; it is held for the duration of the download
+                written = readOnlyTransaction.execute(status -> {
+                    try (Stream<T> stream = rows.get()) {
+                        return format == ExportFormat.CSV
+                                ? writeCsv(stream, out, columns, csvValues)
+                                : writeNdjson(stream, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+            logger.info("Exported {} {} as {} in {} ms", written, what, format, System.currentTimeMillis() - started);
+        };
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        // Not closed: closing would close the response stream before the gzip trailer is written
+        SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+            writer.write(it.next());
+        }
+        writer.flush();
+        if (count > 0) {
+            out.write('\n');
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Stream<T> rows, OutputStream out, List<String> columns,
+                              Function<T, Object[]> values) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns.toArray());
+        long count = 0;
+        for (Iterator<T> it = rows.iterator(); it.hasNext(); count++) {
+            writeCsvLine(writer, values.apply(it.next()));
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvField(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
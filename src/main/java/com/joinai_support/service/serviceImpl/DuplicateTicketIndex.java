@@ -0,0 +1,215 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.dto.TicketSignature;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.SimHash;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the content fingerprints of open tickets, for spotting near-duplicate submissions.
+ * Tickets of the same issuer are compared directly, with a looser distance, because a customer repeating
+ * an issue often rewords it; only a match within {@code merge-max-distance} is close enough to merge.
+ * Across issuers the fingerprint is split into {@code global-max-distance + 1} bands, each an exact-match
+ * hash key: two fingerprints within that distance always share a band, so a lookup only compares the few
+ * tickets in the query's buckets. Seeded at startup and kept current by the ticket lifecycle after commit.
+ */
+@Component
+public class DuplicateTicketIndex {
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateTicketIndex.class);
+
+    private final SupportTicketRepository supportTicketRepository;
+    private final boolean enabled;
+    private final int issuerMaxDistance;
+    private final int mergeMaxDistance;
+    private final int globalMaxDistance;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> byTicket = new HashMap<>();
+    private final Map<String, List<Entry>> byIssuer = new HashMap<>();
+    private final List<Map<Long, List<Entry>>> bands = new ArrayList<>();
+
+    public DuplicateTicketIndex(SupportTicketRepository supportTicketRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${tickets.duplicates.enabled:true}") boolean enabled,
+                                @Value("${tickets.duplicates.issuer-max-distance:10}") int issuerMaxDistance,
+                                @Value("${tickets.duplicates.merge-max-distance:3}") int mergeMaxDistance,
+                                @Value("${tickets.duplicates.global-max-distance:5}") int globalMaxDistance) {
+        this.supportTicketRepository = supportTicketRepository;
+        this.enabled = enabled;
+        this.issuerMaxDistance = Math.max(0, Math.min(issuerMaxDistance, 32));
+        this.mergeMaxDistance = Math.max(-1, Math.min(mergeMaxDistance, this.issuerMaxDistance));
+        // Every extra band makes the band keys shorter and the buckets fuller
+        this.globalMaxDistance = Math.max(0, Math.min(globalMaxDistance, 7));
+
+        int bandCount = this.globalMaxDistance + 1;
+        this.bandShifts = new int[bandCount];
+        this.bandMasks = new long[bandCount];
+        int width = 64 / bandCount;
+        for (int band = 0; band < bandCount; band++) {
+            int bits = band == bandCount - 1 ? 64 - width * band : width;
+            bandShifts[band] = width * band;
+            bandMasks[band] = bits == 64 ? -1L : (1L << bits) - 1;
+            bands.add(new HashMap<>());
+        }
+
+        meterRegistry.gauge("ticket.duplicates.indexed", this, DuplicateTicketIndex::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (!enabled) {
+            return;
+        }
+        List<TicketSignature> signatures = supportTicketRepository.findOpenSignatures(AgentLoadIndex.OPEN_STATUSES);
+        lock.writeLock().lock();
+        try {
+            byTicket.clear();
+            byIssuer.clear();
+            bands.forEach(Map::clear);
+            signatures.forEach(s -> put(new Entry(s.ticketId(), normalize(s.issuerEmail()), s.signature())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Duplicate ticket index seeded with {} open tickets", signatures.size());
+    }
+
+    /**
+     * The open ticket the content most likely repeats: the issuer's own tickets first, then anyone's.
+     */
+    public Optional<Match> findSimilar(String issuerEmail, Long signature) {
+        if (!enabled || signature == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Entry match = closest(byIssuer.get(normalize(issuerEmail)), signature, issuerMaxDistance);
+            if (match != null) {
+                int distance = SimHash.distance(match.signature(), signature);
+                return Optional.of(new Match(match.ticketId(), distance, distance <= mergeMaxDistance));
+            }
+            for (int band = 0; match == null && band < bandShifts.length; band++) {
+                match = closest(bands.get(band).get(bandKey(band, signature)), signature, globalMaxDistance);
+            }
+            return match == null ? Optional.empty()
+                    : Optional.of(new Match(match.ticketId(), SimHash.distance(match.signature(), signature), false));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long ticketId, String issuerEmail, Long signature) {
+        if (!enabled || ticketId == null || signature == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(byTicket.get(ticketId));
+            put(new Entry(ticketId, normalize(issuerEmail), signature));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long ticketId) {
+        if (!enabled || ticketId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(byTicket.get(ticketId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return byTicket.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Entry entry) {
+        byTicket.put(entry.ticketId(), entry);
+        if (entry.issuer() != null) {
+            byIssuer.computeIfAbsent(entry.issuer(), issuer -> new ArrayList<>()).add(entry);
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            bands.get(band).computeIfAbsent(bandKey(band, entry.signature()), key -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        byTicket.remove(entry.ticketId());
+        if (entry.issuer() != null) {
+            removeFrom(byIssuer, entry.issuer(), entry);
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            removeFrom(bands.get(band), bandKey(band, entry.signature()), entry);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, List<Entry>> buckets, K key, Entry entry) {
+        List<Entry> bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(entry) && bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    private static Entry closest(List<Entry> candidates, long signature, int maxDistance) {
+        if (candidates == null) {
+            return null;
+        }
+        Entry best = null;
+        int bestDistance = maxDistance + 1;
+        for (Entry candidate : candidates) {
+            int distance = SimHash.distance(candidate.signature(), signature);
+            // Ties go to the oldest ticket, which the others are most likely repeating
+            if (distance < bestDistance || (distance == bestDistance && best != null
+                    && candidate.ticketId() < best.ticketId())) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private long bandKey(int band, long signature) {
+        return (signature >>> bandShifts[band]) & bandMasks[band];
+    }
+
+    private static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A similar open ticket. {@code mergeable} is only set for the issuer's own ticket within {@code merge-max-distance}.
+     */
+    public record Match(Long ticketId, int distance, boolean mergeable) {
+    }
+
+    private record Entry(Long ticketId, String issuer, long signature) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.User;
+import com.joinai_support.dto.Identity;
+import com.joinai_support.repository.UserRepository;
+import com.joinai_support.utils.TransactionCallbacks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves callers by email with a bounded, expiring cache in front of the users table.
+ * Unknown emails are cached too, so probing with made-up addresses does not reach the database.
+ * Writes that change an account's identity fields call {@link #invalidate(String)}; other instances
+ * pick the change up when their entry expires.
+ */
+@Component
+public class IdentityCache {
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<String, CachedIdentity> cache;
+    // Bumped by every invalidation; a load that overlapped one is returned but not cached
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public IdentityCache(UserRepository userRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${identity.cache.max-size:10000}") int maxSize,
+                         @Value("${identity.cache.ttl-seconds:120}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.ttlNanos = Duration.ofSeconds(Math.max(1, ttlSeconds)).toNanos();
+        int maxEntries = Math.max(1, maxSize);
+        // Access order: the least recently used identity is dropped first
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hits = meterRegistry.counter("identity.cache.hits");
+        this.misses = meterRegistry.counter("identity.cache.misses");
+        Gauge.builder("identity.cache.size", this, IdentityCache::size).register(meterRegistry);
+        Gauge.builder("identity.cache.hit.ratio", this, IdentityCache::hitRatio).register(meterRegistry);
+    }
+
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public Optional<Identity> find(String email) {
+        String key = normalize(email);
+        if (key == null || key.isEmpty()) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        long loadGeneration;
+        synchronized (this) {
+            CachedIdentity cached = cache.get(key);
+            if (cached != null && now - cached.loadedAt() < ttlNanos) {
+                hits.increment();
+                return cached.identity();
+            }
+            loadGeneration = generation;
+        }
+
+        misses.increment();
+        List<User> users = userRepository.findAllByNormalizedEmail(key);
+        Optional<Identity> identity = users.isEmpty() ? Optional.empty() : Optional.of(Identity.of(users.get(0)));
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                cache.put(key, new CachedIdentity(identity, now));
+            }
+        }
+        return identity;
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits, so a read racing the write
+     * cannot leave the old identity behind.
+     */
+    public void invalidate(String email) {
+        String key = normalize(email);
+        if (key == null) {
+            return;
+        }
+        evict(key);
+        TransactionCallbacks.afterCommit(() -> evict(key));
+    }
+
+    private synchronized void evict(String key) {
+        cache.remove(key);
+        generation++;
+    }
+
+    private synchronized int size() {
+        return cache.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private record CachedIdentity(Optional<Identity> identity, long loadedAt) {
+    }
+}
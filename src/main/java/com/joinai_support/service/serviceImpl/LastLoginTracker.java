@@ -0,0 +1,107 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records logins in memory and writes them to {@code users.last_login} in periodic batches,
+ * so a login costs no database write of its own. Entries stay in memory until their batch has been
+ * written, and readers merge them over the persisted value, so the latest login is always visible.
+ */
+@Component
+public class LastLoginTracker {
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginTracker.class);
+
+    // Only moves last_login forward, so an older pending value never overwrites a newer one
+    private static final String UPDATE_SQL = "UPDATE users SET last_login = ?, updated_at = ? " +
+            "WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    // adminId -> latest login not yet written
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final Counter flushed;
+
+    public LastLoginTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        meterRegistry.gaugeMapSize("admin.last-login.pending", List.of(), pending);
+        this.flushed = meterRegistry.counter("admin.last-login.flushed");
+    }
+
+    public void record(Long adminId) {
+        if (adminId == null) {
+            return;
+        }
+        // Truncated to what the column stores, so the value read back equals the one written
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        pending.merge(adminId, now, (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+    }
+
+    /**
+     * Overlays logins that are not written yet onto the given entities. Values only ever move forward.
+     */
+    public <T extends Admin> T merge(T admin) {
+        if (admin != null && admin.getId() != null) {
+            LocalDateTime latest = pending.get(admin.getId());
+            if (latest != null && (admin.getLastLogin() == null || latest.isAfter(admin.getLastLogin()))) {
+                admin.setLastLogin(latest);
+            }
+        }
+        return admin;
+    }
+
+    public <C extends Collection<? extends Admin>> C merge(C admins) {
+        if (!pending.isEmpty()) {
+            admins.forEach(this::merge);
+        }
+        return admins;
+    }
+
+    @Scheduled(initialDelayString = "${admin.last-login.flush-interval-ms:10000}",
+            fixedDelayString = "${admin.last-login.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        pending.forEach((id, lastLogin) -> batch.add(Map.entry(id, lastLogin)));
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, LocalDateTime> entry : batch) {
+            Timestamp lastLogin = Timestamp.valueOf(entry.getValue());
+            args.add(new Object[]{lastLogin, now, entry.getKey(), lastLogin});
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+        } catch (Exception e) {
+            // Kept in memory; the next round retries
+            logger.warn("Failed to write {} last login timestamps: {}", batch.size(), e.getMessage());
+            return;
+        }
+        // A login recorded during the write replaced its entry and stays for the next round
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        flushed.increment(batch.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -10,144 +10,405 @@ import com.joinai_support.service.SupportTicketService;
 import com.joinai_support.utils.*;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Service
 public class SupportTicketServiceImpl implements SupportTicketService {
     private static final Logger logger = LoggerFactory.getLogger(SupportTicketServiceImpl.class);
+    public static final String NOTIFICATIONS_CURSOR_HEADER = "X-Notifications-Cursor";
+    private static final int NOTIFICATIONS_DELTA_LIMIT = 500;
+    private static final Duration NOTIFICATIONS_SETTLE_WINDOW = Duration.ofSeconds(2);
 
     private final SupportTicketRepository supportTicketRepository;
     private final AdminServiceImpl adminServiceImpl;
     private final AdminRepository adminRepository;
     private final MailSenderService mailSenderService;
     private final TicketAnalysisServiceImpl ticketAnalysisServiceImpl;
+    private final AgentLoadIndex agentLoadIndex;
+    private final AnalyticsReadModel analyticsReadModel;
+    private final TicketEventOutbox ticketEventOutbox;
+    private final TicketIdempotencyGuard ticketIdempotencyGuard;
+    private final AgentEventHub agentEventHub;
+    private final TicketClassifier ticketClassifier;
+    private final DuplicateTicketIndex duplicateTicketIndex;
+    private final Executor lookupExecutor;
+    private final int legacyListingCap;
+    private final AssignmentMode assignmentMode;
 
 
     @Autowired
     public SupportTicketServiceImpl(SupportTicketRepository supportTicketRepository,
                                     AdminServiceImpl adminServiceImpl,
                                     AdminRepository adminRepository,
-                                    MailSenderService mailSenderService, TicketAnalysisServiceImpl ticketAnalysisServiceImpl) {
+                                    MailSenderService mailSenderService, TicketAnalysisServiceImpl ticketAnalysisServiceImpl,
+                                    AgentLoadIndex agentLoadIndex,
+                                    AnalyticsReadModel analyticsReadModel,
+                                    TicketEventOutbox ticketEventOutbox,
+                                    TicketIdempotencyGuard ticketIdempotencyGuard,
+                                    AgentEventHub agentEventHub,
+                                    TicketClassifier ticketClassifier,
+                                    DuplicateTicketIndex duplicateTicketIndex,
+                                    @Qualifier("applicationTaskExecutor") Executor lookupExecutor,
+                                    @Value("${tickets.listing.legacy-cap:500}") int legacyListingCap,
+                                    @Value("${tickets.assignment.mode:PUSH}") AssignmentMode assignmentMode) {
         this.supportTicketRepository = supportTicketRepository;
         this.adminServiceImpl = adminServiceImpl;
         this.adminRepository = adminRepository;
         this.mailSenderService = mailSenderService;
         this.ticketAnalysisServiceImpl = ticketAnalysisServiceImpl;
+        this.agentLoadIndex = agentLoadIndex;
+        this.analyticsReadModel = analyticsReadModel;
+        this.ticketEventOutbox = ticketEventOutbox;
+        this.ticketIdempotencyGuard = ticketIdempotencyGuard;
+        this.agentEventHub = agentEventHub;
+        this.ticketClassifier = ticketClassifier;
+        this.duplicateTicketIndex = duplicateTicketIndex;
+        this.lookupExecutor = lookupExecutor;
+        this.legacyListingCap = Math.max(1, legacyListingCap);
+        this.assignmentMode = assignmentMode;
     }
 
     @Transactional
     public String launchTicket(SupportTicket supportTicket) {
-        supportTicket.setCategory(Category.SUPPORT);
-        // Fetch all available admins
-        ResponseEntity<List<Admin>> agentsResponse = adminServiceImpl.getAll();
-        List<Admin> agentList = agentsResponse.getBody();
-        Admin selectedAdmin = null;
+        return launchTicket(supportTicket, null);
+    }
 
-        if (agentList == null || agentList.isEmpty()) {
-            logger.warn("No admins available to assign ticket. Ticket will be opened as unassigned.");
-        } else {
-            // Find the admin with the least number of tickets
-            selectedAdmin = agentList.stream()
-                    .min(Comparator.comparingInt(admin -> admin.getTickets() == null ? 0 : admin.getTickets().size()))
-                    .orElse(null);
+    /**
+     * Opens a ticket; when the intake channel is known it is recorded in the conversation history
+     * in the same transaction. A near-copy of one of the issuer's open tickets is merged into that
+     * ticket instead, and its id is left in {@code duplicateOfTicketId}. A less certain near-duplicate is
+     * opened and assigned like any other ticket, linked to the one it may repeat.
+     */
+    @Transactional
+    public String launchTicket(SupportTicket supportTicket, String source) {
+        supportTicket.setDuplicateOfTicketId(null);
+        supportTicket.setContentSignature(SimHash.of(supportTicket.getContent()));
+        DuplicateTicketIndex.Match match = duplicateTicketIndex
+                .findSimilar(supportTicket.getIssuerEmail(), supportTicket.getContentSignature())
+                .orElse(null);
+        SupportTicket duplicate = match == null ? null : findOpenTicket(match.ticketId());
+        if (duplicate != null && match.mergeable() && sameIssuer(duplicate, supportTicket)) {
+            mergeIntoDuplicate(duplicate, supportTicket, source);
+            return "Ticket merged into open ticket " + duplicate.getId();
+        }
+        if (duplicate != null) {
+            supportTicket.setDuplicateOfTicketId(duplicate.getId());
+        }
 
+        // Pick the enabled agent with the fewest open tickets from the in-memory load index;
+        // in pull mode the ticket waits in the unassigned queue instead
+        Admin selectedAdmin = null;
+        if (assignmentMode == AssignmentMode.PUSH) {
+            selectedAdmin = agentLoadIndex.reserveLeastLoadedAgent()
+                    .map(this::reservedAssignee)
+                    .orElse(null);
             if (selectedAdmin == null) {
-                logger.warn("Failed to find a suitable admin for ticket assignment. Ticket will be opened as unassigned.");
+                logger.warn("No enabled agents available to assign ticket. Ticket will be opened as unassigned.");
+            }
+        }
+
+        prepareLaunch(supportTicket, selectedAdmin);
+
+        try {
+            supportTicketRepository.save(supportTicket);
+            recordTicketChange(null, TicketSnapshot.of(supportTicket));
+            indexForDuplicates(supportTicket);
+            queueLaunchNotifications(supportTicket);
+        } catch (Exception e) {
+            // Log the exception and return a failure message
+            logger.error("Failed to save the support ticket", e);
+            return "Failed to save the support ticket. Please try again.";
+        }
+
+        queueLaunchHistory(supportTicket, source);
+
+        return "Ticket successfully opened " ;
+    }
+
+    /**
+     * Opens the ticket unless a request with the same idempotency key already did so within the dedupe window,
+     * in which case the original ticket id is returned and no side effects are repeated.
+     */
+    @Transactional
+    public TicketLaunchResult launchTicketOnce(SupportTicket supportTicket, String source, String idempotencyKey) {
+        Long cachedTicketId = ticketIdempotencyGuard.cachedTicketId(idempotencyKey);
+        if (cachedTicketId != null) {
+            return new TicketLaunchResult(cachedTicketId, "Ticket successfully opened ", true);
+        }
+
+        if (!ticketIdempotencyGuard.claim(idempotencyKey)) {
+            Long existingTicketId = ticketIdempotencyGuard.existingTicketId(idempotencyKey);
+            ticketIdempotencyGuard.remember(idempotencyKey, existingTicketId);
+            logger.info("Duplicate ticket submission resolved to existing ticket {}", existingTicketId);
+            return new TicketLaunchResult(existingTicketId, "Ticket successfully opened ", true);
+        }
+
+        String message = launchTicket(supportTicket, source);
+        // A merged submission has no ticket of its own; retries resolve to the ticket it was merged into
+        Long ticketId = supportTicket.getId() != null ? supportTicket.getId() : supportTicket.getDuplicateOfTicketId();
+        if (ticketId != null) {
+            ticketIdempotencyGuard.complete(idempotencyKey, ticketId);
+        }
+        return new TicketLaunchResult(ticketId, message, false);
+    }
+
+    /**
+     * Opens a batch of tickets in one transaction. Assignees are planned up front against the
+     * in-memory load picture, rows go out as JDBC batches and the Mongo records are created by the
+     * outbox relay in bulk. Invalid items are reported individually and do not stop the rest.
+     */
+    @Transactional
+    public BulkTicketResponse launchTickets(List<SupportTicketRequest> requests) {
+        List<BulkTicketResult> results = new ArrayList<>(requests.size());
+        List<SupportTicket> tickets = new ArrayList<>();
+        List<BulkTicketResult> ticketResults = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            SupportTicketRequest request = requests.get(index);
+            BulkTicketResult result = new BulkTicketResult();
+            result.setIndex(index);
+            results.add(result);
+
+            if (request == null) {
+                result.setError("Ticket request is missing.");
+                continue;
+            }
+            if (request.getEmail() == null || request.getEmail().isBlank()) {
+                result.setError("Issuer email is required.");
+                continue;
+            }
+            if (request.getContent() == null || request.getContent().isBlank()) {
+                result.setError("Ticket content is required.");
+                continue;
             }
+
+            SupportTicket ticket = new SupportTicket();
+            ticket.setIssuerEmail(request.getEmail().trim());
+            ticket.setSubject(request.getSubject());
+            ticket.setContent(request.getContent());
+            // Bulk replays are only flagged; merging is left to the agents
+            ticket.setContentSignature(SimHash.of(ticket.getContent()));
+            duplicateTicketIndex.findSimilar(ticket.getIssuerEmail(), ticket.getContentSignature())
+                    .map(DuplicateTicketIndex.Match::ticketId)
+                    .ifPresent(ticket::setDuplicateOfTicketId);
+            tickets.add(ticket);
+            ticketResults.add(result);
+            sources.add(request.getSource());
         }
 
+        if (!tickets.isEmpty()) {
+            List<Long> assignees = assignmentMode == AssignmentMode.PULL
+                    ? Collections.nCopies(tickets.size(), null)
+                    : agentLoadIndex.reserveLeastLoadedAgents(tickets.size());
+            for (int i = 0; i < tickets.size(); i++) {
+                Long agentId = assignees.get(i);
+                prepareLaunch(tickets.get(i), agentId == null ? null : reservedAssignee(agentId));
+            }
+
+            supportTicketRepository.saveAll(tickets);
+
+            for (int i = 0; i < tickets.size(); i++) {
+                SupportTicket ticket = tickets.get(i);
+                recordTicketChange(null, TicketSnapshot.of(ticket));
+                indexForDuplicates(ticket);
+                queueLaunchNotifications(ticket);
+                queueLaunchHistory(ticket, sources.get(i));
+                ticketResults.get(i).setTicketId(ticket.getId());
+            }
+        }
+
+        BulkTicketResponse response = new BulkTicketResponse();
+        response.setAccepted(tickets.size());
+        response.setRejected(results.size() - tickets.size());
+        response.setResults(results);
+        logger.info("Bulk intake opened {} ticket(s), rejected {}", response.getAccepted(), response.getRejected());
+        return response;
+    }
+
+    private void prepareLaunch(SupportTicket supportTicket, Admin selectedAdmin) {
+        TicketClassification classification =
+                ticketClassifier.classify(supportTicket.getSubject(), supportTicket.getContent());
+        supportTicket.setCategory(classification.category());
+        supportTicket.setPriority(classification.priority());
+
         // Assign the ticket to the selected admin
         supportTicket.setAssignedTo(selectedAdmin);
         supportTicket.setLaunchTimestamp(LocalDateTime.now());
-
-        Priority[] priorities = Priority.values();
-
-        int randomIndex = new Random().nextInt(priorities.length);
-        supportTicket.setPriority(priorities[randomIndex]);
         supportTicket.setStatus(Status.OPEN);
 
         // Ensure subject is set if not already provided (subject contains issuer info)
         if (supportTicket.getSubject() == null || supportTicket.getSubject().isEmpty()) {
             logger.warn("Ticket created without subject (which contains issuer info). Notifications to issuer will not be possible.");
         }
+    }
 
-        try {
-            supportTicketRepository.save(supportTicket);
-
-            // Send email notification to the assigned admin
-            if (selectedAdmin != null) {
-                try {
-                    mailSenderService.sendTicketCreationNotification(supportTicket, selectedAdmin);
-                    logger.info("Ticket creation notification queued for admin: {}", selectedAdmin.getEmail());
-                } catch (Exception e) {
-                    // Log the exception but don't fail the ticket creation
-                    logger.error("Failed to send ticket creation notification to admin: {}", selectedAdmin.getEmail(), e);
-                }
-            } else {
-                logger.info("Skipping admin ticket creation notification because no admin is currently assigned for ticket {}", supportTicket.getId());
-            }
+    private void queueLaunchNotifications(SupportTicket supportTicket) {
+        Admin selectedAdmin = supportTicket.getAssignedTo();
 
-            // Send email notification to the customer who opened the ticket
+        // Send email notification to the assigned admin
+        if (selectedAdmin != null) {
             try {
-                mailSenderService.sendTicketOpenedNotification(supportTicket);
-
-                logger.info("Ticket creation notification queued for customer: {}", supportTicket.getIssuerEmail());
+                mailSenderService.sendTicketCreationNotification(supportTicket, selectedAdmin);
+                logger.info("Ticket creation notification queued for admin: {}", selectedAdmin.getEmail());
             } catch (Exception e) {
                 // Log the exception but don't fail the ticket creation
-                logger.error("Failed to send ticket creation notification to customer: {}", supportTicket.getIssuerEmail(), e);
+                logger.error("Failed to send ticket creation notification to admin: {}", selectedAdmin.getEmail(), e);
             }
+        } else {
+            logger.info("Skipping admin ticket creation notification because no admin is currently assigned for ticket {}", supportTicket.getId());
+        }
+
+        // Send email notification to the customer who opened the ticket
+        try {
+            mailSenderService.sendTicketOpenedNotification(supportTicket);
 
+            logger.info("Ticket creation notification queued for customer: {}", supportTicket.getIssuerEmail());
         } catch (Exception e) {
-            // Log the exception and return a failure message
-            logger.error("Failed to save the support ticket", e);
-            return "Failed to save the support ticket. Please try again.";
+            // Log the exception but don't fail the ticket creation
+            logger.error("Failed to send ticket creation notification to customer: {}", supportTicket.getIssuerEmail(), e);
         }
+    }
 
-        // sending the ticket to mongodb for contextual history + analytics
-        try {
-            ticketAnalysisServiceImpl.createRecord(
-                    String.valueOf(supportTicket.getId()),
-                    supportTicket.getContent(),
-                    supportTicket.getIssuerEmail()
+    // MongoDB record for contextual history + analytics, applied by the relay after commit
+    private void queueLaunchHistory(SupportTicket supportTicket, String source) {
+        ticketEventOutbox.recordCreated(supportTicket);
+        ticketEventOutbox.conversationEntry(
+                supportTicket.getId(),
+                "SYSTEM",
+                "system",
+                supportTicket.getAssignedTo() == null
+                        ? "Ticket opened and waiting for agent assignment."
+                        : "Ticket opened and assigned to " + resolveAssignedAgentName(supportTicket),
+                LocalDateTime.now()
+        );
+        if (source != null && !source.isBlank()) {
+            ticketEventOutbox.conversationEntry(
+                    supportTicket.getId(),
+                    "SYSTEM",
+                    source,
+                    "Ticket created through " + source + " channel.",
+                    LocalDateTime.now()
             );
-            ticketAnalysisServiceImpl.appendConversationEntry(
-                    String.valueOf(supportTicket.getId()),
+        }
+        if (supportTicket.getDuplicateOfTicketId() != null) {
+            ticketEventOutbox.conversationEntry(
+                    supportTicket.getId(),
                     "SYSTEM",
                     "system",
-                    selectedAdmin == null
-                            ? "Ticket opened and waiting for agent assignment."
-                            : "Ticket opened and assigned to " + resolveAssignedAgentName(supportTicket),
+                    "Possible duplicate of ticket " + supportTicket.getDuplicateOfTicketId(),
                     LocalDateTime.now()
             );
-        } catch (Exception e) {
-            logger.warn("Failed to initialize MongoDB ticket analysis record for ticket {}", supportTicket.getId(), e);
         }
+    }
 
-        return "Ticket successfully opened " ;
+    // Double-checked against the database, since another instance may have closed the indexed ticket
+    private SupportTicket findOpenTicket(Long ticketId) {
+        return supportTicketRepository.findById(ticketId)
+                .filter(ticket -> AgentLoadIndex.OPEN_STATUSES.contains(ticket.getStatus()))
+                .orElse(null);
+    }
+
+    private static boolean sameIssuer(SupportTicket a, SupportTicket b) {
+        return a.getIssuerEmail() != null && b.getIssuerEmail() != null
+                && a.getIssuerEmail().trim().equalsIgnoreCase(b.getIssuerEmail().trim());
+    }
+
+    // The customer repeated an open issue: the new message joins that ticket's conversation and takes no agent slot
+    private void mergeIntoDuplicate(SupportTicket duplicate, SupportTicket submission, String source) {
+        submission.setDuplicateOfTicketId(duplicate.getId());
+        // Moves the ticket forward in the assigned agent's notification feed
+        duplicate.setUpdatedAt(LocalDateTime.now());
+        ticketEventOutbox.conversationEntry(
+                duplicate.getId(),
+                "USER",
+                source == null || source.isBlank() ? "chatbot" : source,
+                submission.getContent(),
+                LocalDateTime.now()
+        );
+        logger.info("Submission from {} merged into open ticket {} as a near-duplicate",
+                submission.getIssuerEmail(), duplicate.getId());
+    }
+
+    // The reservation is dropped once the launch commits, when the ticket counts as open, or rolls back
+    private Admin reservedAssignee(Long agentId) {
+        TransactionCallbacks.afterCompletion(() -> agentLoadIndex.release(agentId));
+        return adminRepository.getReferenceById(agentId);
+    }
+
+    private void indexForDuplicates(SupportTicket ticket) {
+        Long ticketId = ticket.getId();
+        String issuerEmail = ticket.getIssuerEmail();
+        Long signature = ticket.getContentSignature();
+        TransactionCallbacks.afterCommit(() -> duplicateTicketIndex.add(ticketId, issuerEmail, signature));
+    }
+
+    /**
+     * Assigns the most urgent, oldest unassigned ticket to the calling agent. The row is locked with
+     * SKIP LOCKED, so agents claiming at the same time on any instance each get a different ticket.
+     */
+    @Transactional
+    public ResponseEntity<SupportTicket> claimNextTicket(String email) {
+        Identity agent = adminServiceImpl.resolveAdmin(email);
+        if (agent == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!agent.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<SupportTicket> next = supportTicketRepository.lockNextUnassigned(
+                AgentLoadIndex.OPEN_STATUSES, PageRequest.of(0, 1));
+        if (next.isEmpty()) {
+            return ResponseEntity.noContent().build();
+        }
+
+        SupportTicket ticket = next.get(0);
+        TicketSnapshot before = TicketSnapshot.of(ticket);
+        ticket.setAssignedTo(adminRepository.getReferenceById(agent.id()));
+        supportTicketRepository.save(ticket);
+        recordTicketChange(before, TicketSnapshot.of(ticket));
+
+        ticketEventOutbox.conversationEntry(
+                ticket.getId(),
+                "SYSTEM",
+                "system",
+                "Ticket claimed by " + resolveAssignedAgentName(ticket),
+                LocalDateTime.now()
+        );
+        logger.info("Ticket {} claimed by agent {}", ticket.getId(), agent.id());
+        return ResponseEntity.ok(ticket);
     }
 
     @Transactional
     public ResponseEntity<String> updateTicket(TicketStatusDTO supportTicket) {
-        Optional<SupportTicket> supportTicketEntity = supportTicketRepository.findById(supportTicket.getTicketId());
+        Optional<SupportTicket> supportTicketEntity = supportTicketRepository.findByIdForUpdate(supportTicket.getTicketId());
         if (supportTicketEntity.isEmpty()) {
             logger.warn("Ticket not found with ID: {}", supportTicket.getTicketId());
             return ResponseEntity.notFound().build();
         }
 
         SupportTicket ticket = supportTicketEntity.get();
+        TicketSnapshot before = TicketSnapshot.of(ticket);
 
         // Safely add reply - only if not null or empty
         if (supportTicket.getReply() != null && !supportTicket.getReply().trim().isEmpty()) {
-            if (ticket.getReplies() == null) {
-                ticket.setReplies(new ArrayList<>());
-            }
-            ticket.getReplies().add(supportTicket.getReply().trim());
+            // Appended with a single INSERT; the reply list itself is never loaded
+            supportTicketRepository.insertReply(ticket.getId(), ticket.getReplyCount(), supportTicket.getReply().trim());
+            ticket.setReplyCount(ticket.getReplyCount() + 1);
             logger.info("Reply added to ticket ID: {}", supportTicket.getTicketId());
         } else {
             logger.info("No reply provided for ticket ID: {}, updating status only", supportTicket.getTicketId());
@@ -161,33 +422,26 @@ public class SupportTicketServiceImpl implements SupportTicketService {
 
         // Save updated ticket
         supportTicketRepository.save(ticket);
+        recordTicketChange(before, TicketSnapshot.of(ticket));
 
         if (supportTicket.getReply() != null && !supportTicket.getReply().trim().isEmpty()) {
-            try {
-                ticketAnalysisServiceImpl.appendConversationEntry(
-                        String.valueOf(ticket.getId()),
-                        "AGENT",
-                        "agent-dashboard",
-                        supportTicket.getReply().trim(),
-                        LocalDateTime.now()
-                );
-            } catch (Exception e) {
-                logger.warn("Failed to append agent reply to MongoDB history for ticket {}", ticket.getId(), e);
-            }
-        }
-
-        try {
-            ticketAnalysisServiceImpl.appendConversationEntry(
-                    String.valueOf(ticket.getId()),
-                    "SYSTEM",
-                    "system",
-                    "Ticket status updated to " + ticket.getStatus(),
+            ticketEventOutbox.conversationEntry(
+                    ticket.getId(),
+                    "AGENT",
+                    "agent-dashboard",
+                    supportTicket.getReply().trim(),
                     LocalDateTime.now()
             );
-        } catch (Exception e) {
-            logger.warn("Failed to append status update to MongoDB history for ticket {}", ticket.getId(), e);
         }
 
+        ticketEventOutbox.conversationEntry(
+                ticket.getId(),
+                "SYSTEM",
+                "system",
+                "Ticket status updated to " + ticket.getStatus(),
+                LocalDateTime.now()
+        );
+
         // Send email to assigned admin
         Admin assignedAdmin = ticket.getAssignedTo();
         if (assignedAdmin != null) {
@@ -213,7 +467,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
 
                 // Only add to analysis if reply exists
                 if (supportTicket.getReply() != null && !supportTicket.getReply().trim().isEmpty()) {
-                    ticketAnalysisServiceImpl.addReply(String.valueOf(supportTicket.getTicketId()), supportTicket.getReply());
+                    ticketEventOutbox.replyAdded(ticket.getId(), supportTicket.getReply());
                 }
 
                 logger.info("Ticket closed notification sent to issuer: {}", ticket.getSubject());
@@ -224,18 +478,45 @@ public class SupportTicketServiceImpl implements SupportTicketService {
 
         return ResponseEntity.ok("Ticket successfully updated.");
     }
+    public ResourceVersion myTicketsVersion(Long agentId) {
+        return supportTicketRepository.versionByAgent(agentId);
+    }
+
+    // Full entities for existing clients, newest first and capped at tickets.listing.legacy-cap
     public ResponseEntity<List<SupportTicket>> getMyTickets(Authenticate authenticationResponse) {
-      // List<SupportTicket> tickets = userValidator.getUser(authenticationResponse.getToken()).getTickets();
-        List<SupportTicket> tickets= adminRepository.findByEmail(authenticationResponse.getEmail()).getTickets();
-       return ResponseEntity.ok(tickets);
+        Identity agent = adminServiceImpl.resolveAdmin(authenticationResponse.getEmail());
+        if (agent == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        List<SupportTicket> tickets = supportTicketRepository.findRecentByAgent(
+                agent.id(), PageRequest.of(0, legacyListingCap));
+        return ResponseEntity.ok(tickets);
+    }
+
+    /**
+     * The agent's dashboard rows, one keyset page at a time; the listing filters apply, the agent is fixed.
+     */
+    public ResponseEntity<TicketPage> getMyTicketPage(TicketListRequest request) {
+        Identity agent = adminServiceImpl.resolveAdmin(request.getEmail());
+        if (agent == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        request.setAgentId(agent.id());
+        return adminServiceImpl.listTickets(request);
+    }
+
+    public ResponseEntity<SupportTicket> getMyTicketDetail(String email, Long ticketId) {
+        return supportTicketRepository.findDetailById(ticketId)
+                .filter(ticket -> ticket.getAssignedTo() != null
+                        && ticket.getAssignedTo().getEmail() != null
+                        && ticket.getAssignedTo().getEmail().equalsIgnoreCase(email))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     public ResponseEntity<StatisticsDTO> getStatistics() {
-        double avgTimeLimit = supportTicketRepository.findAll()
-                .parallelStream()
-                .mapToDouble(supportTicket -> supportTicket.getTimeLimit().toSeconds())
-                .average()
-                .orElse(0);
+        Double averageSeconds = supportTicketRepository.averageTimeLimitSeconds();
+        double avgTimeLimit = averageSeconds == null ? 0 : averageSeconds;
         StatisticsDTO statisticsDTO = new StatisticsDTO();
         statisticsDTO.setAvgResolveTime(avgTimeLimit);
         return ResponseEntity.ok(statisticsDTO);
@@ -243,77 +524,123 @@ public class SupportTicketServiceImpl implements SupportTicketService {
 
     //method for calculating statics for agents for use by agents
     public ResponseEntity<StatsByAgent> getStatsByAgent(Admin admin) {
-        List<SupportTicket> tickets = supportTicketRepository.findAllByAssignedTo(admin);
-        StatsByAgent statsByAgent = new StatsByAgent();
+        return getStatsByAgent(admin.getId());
+    }
 
-        LocalDateTime now = LocalDateTime.now();
+    public ResponseEntity<StatsByAgent> getStatsByAgent(Long agentId) {
+        return analyticsReadModel.statsByAgent(agentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> computeStatsByAgent(agentId));
+    }
 
-        // Daily stats (last 24 hours)
-        LocalDateTime dailyStart = now.minusHours(24);
-        statsByAgent.setDAILY_TICKETS(tickets.stream()
-                .filter(supportTicket ->
-                        supportTicket.getLaunchTimestamp().isAfter(dailyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(dailyStart))
-                .count());
-
-        statsByAgent.setSOLVED_DAILY(tickets.stream()
-                .filter(supportTicket ->
-                        (supportTicket.getLaunchTimestamp().isAfter(dailyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(dailyStart)) &&
-                                (supportTicket.getStatus() == Status.CLOSED))
-                .count());
-
-        // Weekly stats (last 7 days / 168 hours)
-        LocalDateTime weeklyStart = now.minusHours(168);
-        statsByAgent.setWEEKLY_TICKETS(tickets.stream()
-                .filter(supportTicket ->
-                        supportTicket.getLaunchTimestamp().isAfter(weeklyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(weeklyStart))
-                .count());
-
-        statsByAgent.setSOLVED_WEEKLY(tickets.stream()
-                .filter(supportTicket ->
-                        (supportTicket.getLaunchTimestamp().isAfter(weeklyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(weeklyStart)) &&
-                                (supportTicket.getStatus() == Status.CLOSED))
-                .count());
-
-        // Monthly stats (last 28 days / 672 hours)
-        LocalDateTime monthlyStart = now.minusHours(672);
-        statsByAgent.setMONTHLY_TICKETS(tickets.stream()
-                .filter(supportTicket ->
-                        supportTicket.getLaunchTimestamp().isAfter(monthlyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(monthlyStart))
-                .count());
-
-        statsByAgent.setSOLVED_MONTHLY(tickets.stream()
-                .filter(supportTicket ->
-                        (supportTicket.getLaunchTimestamp().isAfter(monthlyStart) ||
-                                supportTicket.getLaunchTimestamp().isEqual(monthlyStart)) &&
-                                (supportTicket.getStatus() == Status.CLOSED))
-                .count());
+    // Aggregated in the database; only used until the read model is seeded or for non-agent accounts
+    private ResponseEntity<StatsByAgent> computeStatsByAgent(Long agentId) {
+        LocalDateTime now = LocalDateTime.now();
+        TicketAggregate aggregate = supportTicketRepository.aggregateByAgent(
+                        agentId,
+                        now.minus(StatsWindow.DAILY.getLength()),
+                        now.minus(StatsWindow.WEEKLY.getLength()),
+                        now.minus(StatsWindow.MONTHLY.getLength()))
+                .stream()
+                .findFirst()
+                .orElseGet(TicketAggregate::new);
 
+        StatsByAgent statsByAgent = new StatsByAgent();
+        statsByAgent.setDAILY_TICKETS(aggregate.getLaunchedDaily());
+        statsByAgent.setSOLVED_DAILY(aggregate.getClosedLaunchedDaily());
+        statsByAgent.setWEEKLY_TICKETS(aggregate.getLaunchedWeekly());
+        statsByAgent.setSOLVED_WEEKLY(aggregate.getClosedLaunchedWeekly());
+        statsByAgent.setMONTHLY_TICKETS(aggregate.getLaunchedMonthly());
+        statsByAgent.setSOLVED_MONTHLY(aggregate.getClosedLaunchedMonthly());
         return ResponseEntity.ok(statsByAgent);
     }
     public ResponseEntity<List<TicketDTO>> getNotifications(String email) {
-        List<TicketDTO> notifications = new ArrayList<>();
-        List<SupportTicket> tickets = adminRepository.findByEmail(email).getTickets();
-
-        tickets.forEach(supportTicket -> {
-            TicketDTO ticketDTO = new TicketDTO();
-            ticketDTO.setId(supportTicket.getId());
-            ticketDTO.setStatus(supportTicket.getStatus());
-            ticketDTO.setLaunchTimestamp(supportTicket.getLaunchTimestamp());
-            ticketDTO.setCategory(supportTicket.getCategory());
-            ticketDTO.setPriority(supportTicket.getPriority());
-            ticketDTO.setAttachments(supportTicket.getAttachments());
-            ticketDTO.setSubject(supportTicket.getSubject());
-            ticketDTO.setIssuerEmail(supportTicket.getIssuerEmail());
-
-            notifications.add(ticketDTO);
-        });
+        return getNotifications(email, null);
+    }
+
+    /**
+     * Without {@code since}, every ticket of the agent; with it, only the tickets changed after that cursor.
+     * Either way the {@value #NOTIFICATIONS_CURSOR_HEADER} header carries the cursor for the next poll.
+     * Unknown and disabled accounts get 401 in both modes.
+     */
+    public ResponseEntity<List<TicketDTO>> getNotifications(String email, String since) {
+        Identity agent = adminServiceImpl.resolveAdmin(email);
+        if (agent == null || !agent.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (since == null || since.isBlank()) {
+            List<SupportTicket> tickets = supportTicketRepository.findAllByAssignedToId(agent.id());
+            List<TicketDTO> notifications = new ArrayList<>(tickets.size());
+            TicketCursor latest = null;
+            for (SupportTicket supportTicket : tickets) {
+                notifications.add(toNotification(supportTicket));
+                latest = laterOf(latest, supportTicket);
+            }
+            TicketCursor next = settledCursor(LocalDateTime.now(), latest);
+            return ResponseEntity.ok().header(NOTIFICATIONS_CURSOR_HEADER, next.encode()).body(notifications);
+        }
+
+        TicketCursor after;
+        try {
+            after = TicketCursor.decode(since);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SupportTicket> changed = supportTicketRepository.findChangedForAgent(
+                agent.id(), after.timestamp(), after.id(), PageRequest.of(0, NOTIFICATIONS_DELTA_LIMIT));
+        List<TicketDTO> notifications = new ArrayList<>(changed.size());
+        TicketCursor next = after;
+        for (SupportTicket supportTicket : changed) {
+            notifications.add(toNotification(supportTicket));
+            next = new TicketCursor(supportTicket.getUpdatedAt(), supportTicket.getId());
+        }
+        if (next != after) {
+            next = settledCursor(now, next);
+            if (next.timestamp().isBefore(after.timestamp())) {
+                next = after;
+            }
+        }
+        return ResponseEntity.ok().header(NOTIFICATIONS_CURSOR_HEADER, next.encode()).body(notifications);
+    }
 
-        return ResponseEntity.ok(notifications);
+    /**
+     * Keeps the cursor behind changes that may still be committing: a transaction that stamped updatedAt
+     * a moment ago can become visible after this poll, so the last {@link #NOTIFICATIONS_SETTLE_WINDOW}
+     * is re-read on the next poll. Clients merge notifications by ticket id, so repeats are harmless.
+     */
+    private static TicketCursor settledCursor(LocalDateTime now, TicketCursor cursor) {
+        LocalDateTime settled = now.minus(NOTIFICATIONS_SETTLE_WINDOW);
+        if (cursor == null || cursor.timestamp().isAfter(settled)) {
+            return new TicketCursor(settled, 0L);
+        }
+        return cursor;
+    }
+
+    private static TicketCursor laterOf(TicketCursor latest, SupportTicket ticket) {
+        if (ticket.getUpdatedAt() == null) {
+            return latest;
+        }
+        if (latest == null || ticket.getUpdatedAt().isAfter(latest.timestamp())
+                || (ticket.getUpdatedAt().isEqual(latest.timestamp()) && ticket.getId() > latest.id())) {
+            return new TicketCursor(ticket.getUpdatedAt(), ticket.getId());
+        }
+        return latest;
+    }
+
+    private static TicketDTO toNotification(SupportTicket supportTicket) {
+        TicketDTO ticketDTO = new TicketDTO();
+        ticketDTO.setId(supportTicket.getId());
+        ticketDTO.setStatus(supportTicket.getStatus());
+        ticketDTO.setLaunchTimestamp(supportTicket.getLaunchTimestamp());
+        ticketDTO.setUpdatedAt(supportTicket.getUpdatedAt());
+        ticketDTO.setCategory(supportTicket.getCategory());
+        ticketDTO.setPriority(supportTicket.getPriority());
+        ticketDTO.setAttachments(supportTicket.getAttachments());
+        ticketDTO.setSubject(supportTicket.getSubject());
+        ticketDTO.setIssuerEmail(supportTicket.getIssuerEmail());
+        return ticketDTO;
     }
 
     public ResponseEntity<TicketLookupResponse> lookupTicketContext(TicketLookupRequest request) {
@@ -327,8 +654,13 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         }
 
         List<SupportTicket> matchedTickets = new ArrayList<>();
+        CompletableFuture<Map<String, TicketAnalysis>> analysesFuture = null;
 
         if (request.getTicketId() != null) {
+            // Mongo and Postgres are queried concurrently; the ticket id is already known
+            String ticketId = String.valueOf(request.getTicketId());
+            analysesFuture = CompletableFuture.supplyAsync(
+                    () -> ticketAnalysisServiceImpl.getTickets(List.of(ticketId)), lookupExecutor);
             Optional<SupportTicket> byTicketId = supportTicketRepository.findById(request.getTicketId());
             if (byTicketId.isPresent()) {
                 SupportTicket supportTicket = byTicketId.get();
@@ -344,7 +676,8 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 }
                 matchedTickets.add(supportTicket);
             }
-        } else if (request.getEmail() != null && !request.getEmail().isBlank()) {
+        } else {
+            // The Mongo records are read afterwards by the ids found here, with one $in on _id
             matchedTickets = supportTicketRepository
                     .findAllByIssuerEmailIgnoreCaseOrderByLaunchTimestampDesc(request.getEmail().trim());
         }
@@ -361,8 +694,11 @@ public class SupportTicketServiceImpl implements SupportTicketService {
             return ResponseEntity.ok(response);
         }
 
+        Map<String, TicketAnalysis> analyses = analysesFuture != null
+                ? awaitAnalyses(analysesFuture)
+                : loadAnalyses(matchedTickets);
         List<TicketContextDTO> ticketContexts = matchedTickets.stream()
-                .map(this::toTicketContextDTO)
+                .map(ticket -> toTicketContextDTO(ticket, analyses.get(String.valueOf(ticket.getId()))))
                 .toList();
 
         response.setFound(true);
@@ -383,8 +719,8 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         }
 
         SupportTicket ticket = ticketOptional.get();
-        ticketAnalysisServiceImpl.appendConversationEntry(
-                String.valueOf(ticket.getId()),
+        ticketEventOutbox.conversationEntry(
+                ticket.getId(),
                 request.getActorRole(),
                 request.getChannel(),
                 request.getMessage(),
@@ -392,8 +728,10 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         );
 
         if (ticket.getUpdatedAt() == null || ticket.getUpdatedAt().isBefore(LocalDateTime.now().minusSeconds(1))) {
+            TicketSnapshot before = TicketSnapshot.of(ticket);
             ticket.setUpdatedAt(LocalDateTime.now());
             supportTicketRepository.save(ticket);
+            recordTicketChange(before, TicketSnapshot.of(ticket));
         }
 
         return ResponseEntity.ok("Conversation event recorded.");
@@ -417,7 +755,28 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .or(() -> byEmail.stream().findFirst());
     }
 
-    private TicketContextDTO toTicketContextDTO(SupportTicket ticket) {
+    private Map<String, TicketAnalysis> awaitAnalyses(CompletableFuture<Map<String, TicketAnalysis>> analysesFuture) {
+        try {
+            return analysesFuture.join();
+        } catch (Exception e) {
+            logger.warn("Failed to load MongoDB ticket context; returning tickets without conversation history", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private Map<String, TicketAnalysis> loadAnalyses(List<SupportTicket> tickets) {
+        List<String> ticketIds = tickets.stream()
+                .map(ticket -> String.valueOf(ticket.getId()))
+                .toList();
+        try {
+            return ticketAnalysisServiceImpl.getTickets(ticketIds);
+        } catch (Exception e) {
+            logger.warn("Failed to load MongoDB ticket context; returning tickets without conversation history", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private TicketContextDTO toTicketContextDTO(SupportTicket ticket, TicketAnalysis analysis) {
         TicketContextDTO dto = new TicketContextDTO();
         dto.setTicketId(ticket.getId());
         dto.setStatus(ticket.getStatus() == null ? "UNKNOWN" : ticket.getStatus().name());
@@ -425,7 +784,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         dto.setSubject(ticket.getSubject());
         dto.setIssuerEmail(ticket.getIssuerEmail());
         dto.setAssignedAgent(resolveAssignedAgentName(ticket));
-        dto.setChannelOfOrigin(resolveChannelOfOrigin(ticket.getId()));
+        dto.setChannelOfOrigin(ticketAnalysisServiceImpl.resolveChannelOfOrigin(analysis));
         dto.setLaunchTimestamp(ticket.getLaunchTimestamp());
         dto.setUpdatedAt(ticket.getUpdatedAt());
         dto.setServedTimestamp(ticket.getServedTimestamp());
@@ -433,7 +792,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         dto.setMinutesOpen(calculateMinutesOpen(ticket));
 
         List<TicketAnalysis.TicketConversationEntry> entries =
-                ticketAnalysisServiceImpl.getConversationHistory(String.valueOf(ticket.getId()));
+                ticketAnalysisServiceImpl.sortedConversationHistory(analysis);
 
         List<TicketConversationMessageDTO> conversation = new ArrayList<>();
         for (TicketAnalysis.TicketConversationEntry entry : entries) {
@@ -449,6 +808,63 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         return dto;
     }
 
+    // Keeps the in-memory load index and analytics in step with a committed ticket change
+    private void recordTicketChange(TicketSnapshot before, TicketSnapshot after) {
+        TransactionCallbacks.afterCommit(() -> {
+            agentLoadIndex.onTicketChanged(
+                    before == null ? null : before.agentId(),
+                    before == null ? null : before.status(),
+                    after.agentId(),
+                    after.status());
+            analyticsReadModel.onTicketChanged(before, after);
+            if (!AgentLoadIndex.OPEN_STATUSES.contains(after.status())) {
+                duplicateTicketIndex.remove(after.id());
+            }
+            publishAgentEvents(before, after);
+        });
+    }
+
+    // Runs after the read models are updated, so the pushed stats already include this change
+    private void publishAgentEvents(TicketSnapshot before, TicketSnapshot after) {
+        Long agentId = after.agentId();
+        if (agentId == null) {
+            return;
+        }
+        boolean changed = false;
+        if (before == null || !Objects.equals(before.agentId(), agentId)) {
+            agentEventHub.publish(agentId, AgentEvent.ofTicket(AgentEventType.TICKET_ASSIGNED, after));
+            changed = true;
+        } else {
+            if (after.replies() > before.replies()) {
+                agentEventHub.publish(agentId, AgentEvent.ofTicket(AgentEventType.REPLY_ADDED, after));
+                changed = true;
+            }
+            if (before.status() != after.status()) {
+                agentEventHub.publish(agentId, AgentEvent.ofTicket(AgentEventType.STATUS_CHANGED, after));
+                changed = true;
+            }
+        }
+        if (changed) {
+            agentEventHub.publish(agentId, agentStats(agentId));
+        }
+    }
+
+    private AgentEvent agentStats(Long agentId) {
+        return AgentEvent.stats(agentLoadIndex.openTickets(agentId),
+                analyticsReadModel.statsByAgent(agentId).orElse(null));
+    }
+
+    /**
+     * Opens the agent's dashboard event stream; the current stats are sent as soon as it connects.
+     */
+    public ResponseEntity<SseEmitter> openEventStream(String email) {
+        Identity agent = adminServiceImpl.resolveAdmin(email);
+        if (agent == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(agentEventHub.subscribe(agent.id(), agentStats(agent.id())));
+    }
+
     private String resolveAssignedAgentName(SupportTicket ticket) {
         if (ticket.getAssignedTo() == null) {
             return "Unassigned";
@@ -459,28 +875,6 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 : ticket.getAssignedTo().getEmail();
     }
 
-    private String resolveChannelOfOrigin(Long ticketId) {
-        Optional<TicketAnalysis> analysis = ticketAnalysisServiceImpl.getTicket(String.valueOf(ticketId));
-        if (analysis.isPresent()) {
-            List<TicketAnalysis.TicketConversationEntry> history = analysis.get().getConversationHistory();
-            if (history != null && !history.isEmpty()) {
-                for (TicketAnalysis.TicketConversationEntry entry : history) {
-                    if (entry.getChannel() == null || entry.getChannel().isBlank()) {
-                        continue;
-                    }
-                    String channel = entry.getChannel().toLowerCase();
-                    if (!"unknown".equals(channel) && !"system".equals(channel)) {
-                        return channel;
-                    }
-                }
-            }
-            if (analysis.get().getSource() != null) {
-                return analysis.get().getSource().name().toLowerCase();
-            }
-        }
-        return "web";
-    }
-
     private long calculateMinutesOpen(SupportTicket ticket) {
         if (ticket.getLaunchTimestamp() == null) {
             return 0;
@@ -4,23 +4,40 @@ package com.joinai_support.service.serviceImpl;
 import com.joinai_support.domain.TicketAnalysis;
 import com.joinai_support.repository.TicketAnalysisRepository;
 import com.joinai_support.service.TicketAnalysisService;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class TicketAnalysisServiceImpl implements TicketAnalysisService {
 
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
     private final TicketAnalysisRepository repository;
+    private final MongoTemplate mongoTemplate;
 
-    public TicketAnalysisServiceImpl(TicketAnalysisRepository repository) {
+    public TicketAnalysisServiceImpl(TicketAnalysisRepository repository, MongoTemplate mongoTemplate) {
         this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     // Create a new ticket
@@ -29,15 +46,65 @@ public class TicketAnalysisServiceImpl implements TicketAnalysisService {
         return repository.save(ticket);
     }
 
-    @Transactional
-    public TicketAnalysis addReply(String ticketId, String reply) {
-        Optional<TicketAnalysis> ticketOpt = repository.findById(ticketId);
-        if (ticketOpt.isPresent()) {
-            TicketAnalysis ticket = ticketOpt.get();
-            ticket.addReply(reply);
-            return repository.save(ticket);
-        } else {
-            throw new RuntimeException("Ticket with ID " + ticketId + " not found");
+    // Appends the reply in a single atomic update, without reading or re-sending the transcript
+    public void addReply(String ticketId, String reply) {
+        addReply(ticketId, reply, LocalDateTime.now(), null);
+    }
+
+    /**
+     * Outbox variant of {@link #addReply(String, String)}: applied at most once per event id.
+     */
+    public void addReply(String ticketId, String reply, LocalDateTime timestamp, Long eventId) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .push("replies", reply)
+                .inc("totalReplies", 1)
+                .set("lastReplyAt", timestamp)
+                .set("updatedAt", now);
+
+        TicketAnalysis.TicketConversationEntry entry =
+                TicketAnalysis.TicketConversationEntry.of("AGENT", "agent-dashboard", reply, timestamp);
+        if (entry != null) {
+            update.push("conversationHistory", entry);
+        }
+
+        applyOnce(ticketId, eventId, update);
+    }
+
+    // Inserts the record unless an earlier delivery of the same event already did
+    public void createRecord(String ticketId, String question, String issuerEmail, Priority priority, Category category,
+                             Long eventId) {
+        TicketAnalysis ticket = new TicketAnalysis(ticketId, question, issuerEmail);
+        ticket.classify(priority, category);
+        ticket.getProcessedEventIds().add(eventId);
+        try {
+            mongoTemplate.insert(ticket);
+        } catch (DuplicateKeyException alreadyCreated) {
+            // redelivered event; the record exists
+        }
+    }
+
+    /**
+     * Inserts many records with one unordered bulk write. Records that already exist count as created.
+     * @return the error for every record that could not be inserted, keyed by ticket id
+     */
+    public Map<String, String> createRecords(List<TicketAnalysis> records) {
+        if (records.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TicketAnalysis.class)
+                    .insert(records)
+                    .execute();
+            return Collections.emptyMap();
+        } catch (BulkOperationException e) {
+            Map<String, String> errors = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY_ERROR) {
+                    errors.put(records.get(error.getIndex()).getTicketId(), error.getMessage());
+                }
+            }
+            return errors;
         }
     }
 
@@ -55,31 +122,54 @@ public class TicketAnalysisServiceImpl implements TicketAnalysisService {
 
     }
 
-    @Transactional
-    public TicketAnalysis appendConversationEntry(
+    public void appendConversationEntry(
             String ticketId,
             String actorRole,
             String channel,
             String message,
             LocalDateTime timestamp
     ) {
-        Optional<TicketAnalysis> ticketOpt = repository.findById(ticketId);
-        if (ticketOpt.isEmpty()) {
-            throw new RuntimeException("Ticket with ID " + ticketId + " not found");
+        appendConversationEntry(ticketId, actorRole, channel, message, timestamp, null);
+    }
+
+    public void appendConversationEntry(
+            String ticketId,
+            String actorRole,
+            String channel,
+            String message,
+            LocalDateTime timestamp,
+            Long eventId
+    ) {
+        TicketAnalysis.TicketConversationEntry entry =
+                TicketAnalysis.TicketConversationEntry.of(actorRole, channel, message, timestamp);
+        if (entry == null) {
+            return;
         }
 
-        TicketAnalysis ticket = ticketOpt.get();
-        ticket.addConversationEntry(actorRole, channel, message, timestamp);
-        return repository.save(ticket);
+        Update update = new Update()
+                .push("conversationHistory", entry)
+                .set("updatedAt", LocalDateTime.now());
+
+        applyOnce(ticketId, eventId, update);
     }
 
     public List<TicketAnalysis.TicketConversationEntry> getConversationHistory(String ticketId) {
         Optional<TicketAnalysis> ticketOpt = repository.findById(ticketId);
-        if (ticketOpt.isEmpty()) {
-            return Collections.emptyList();
+        return ticketOpt.map(this::sortedConversationHistory).orElse(Collections.emptyList());
+    }
+
+    // Fetches every requested record with a single $in query, keyed by ticket id
+    public Map<String, TicketAnalysis> getTickets(Collection<String> ticketIds) {
+        if (ticketIds == null || ticketIds.isEmpty()) {
+            return Collections.emptyMap();
         }
+        Map<String, TicketAnalysis> byId = new HashMap<>();
+        repository.findAllById(ticketIds).forEach(ticket -> byId.put(ticket.getTicketId(), ticket));
+        return byId;
+    }
 
-        List<TicketAnalysis.TicketConversationEntry> conversationHistory = ticketOpt.get().getConversationHistory();
+    public List<TicketAnalysis.TicketConversationEntry> sortedConversationHistory(TicketAnalysis ticket) {
+        List<TicketAnalysis.TicketConversationEntry> conversationHistory = ticket == null ? null : ticket.getConversationHistory();
         if (conversationHistory == null || conversationHistory.isEmpty()) {
             return Collections.emptyList();
         }
@@ -88,4 +178,46 @@ public class TicketAnalysisServiceImpl implements TicketAnalysisService {
         sorted.sort(Comparator.comparing(TicketAnalysis.TicketConversationEntry::getTimestamp));
         return sorted;
     }
+
+    // First real channel seen in the conversation, falling back to the recorded source
+    public String resolveChannelOfOrigin(TicketAnalysis ticket) {
+        if (ticket == null) {
+            return "web";
+        }
+        List<TicketAnalysis.TicketConversationEntry> history = ticket.getConversationHistory();
+        if (history != null) {
+            for (TicketAnalysis.TicketConversationEntry entry : history) {
+                if (entry.getChannel() == null || entry.getChannel().isBlank()) {
+                    continue;
+                }
+                String channel = entry.getChannel().toLowerCase();
+                if (!"unknown".equals(channel) && !"system".equals(channel)) {
+                    return channel;
+                }
+            }
+        }
+        if (ticket.getSource() != null) {
+            return ticket.getSource().name().toLowerCase();
+        }
+        return "web";
+    }
+
+    private Query byTicketId(String ticketId) {
+        return Query.query(Criteria.where("_id").is(ticketId));
+    }
+
+    // With an event id the update only matches records that have not seen the event yet
+    private void applyOnce(String ticketId, Long eventId, Update update) {
+        Query query = byTicketId(ticketId);
+        if (eventId != null) {
+            query.addCriteria(Criteria.where("processedEventIds").ne(eventId));
+            update.addToSet("processedEventIds", eventId);
+        }
+
+        UpdateResult result = mongoTemplate.updateFirst(query, update, TicketAnalysis.class);
+        if (result.getMatchedCount() == 0
+                && (eventId == null || !mongoTemplate.exists(byTicketId(ticketId), TicketAnalysis.class))) {
+            throw new RuntimeException("Ticket with ID " + ticketId + " not found");
+        }
+    }
 }
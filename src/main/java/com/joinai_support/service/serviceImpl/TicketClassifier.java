@@ -0,0 +1,176 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joinai_support.dto.TicketClassification;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.PhraseAutomaton;
+import com.joinai_support.utils.Priority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assigns priority and category to new tickets from keyword and phrase rules.
+ * All phrases of the rule set are compiled into one {@link PhraseAutomaton}, so subject and content are
+ * scanned once regardless of the number of rules. The most urgent matching priority wins; the category
+ * with the highest total weight of matches wins. The rules file is checked for changes periodically and
+ * a new rule set is swapped in whole, so classification never waits for a reload.
+ */
+@Component
+public class TicketClassifier {
+    private static final Logger logger = LoggerFactory.getLogger(TicketClassifier.class);
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String rulesLocation;
+    private final Timer classifyTimer;
+
+    private volatile RuleSet rules = RuleSet.EMPTY;
+    private long rulesLastModified = Long.MIN_VALUE;
+
+    public TicketClassifier(ResourceLoader resourceLoader,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${tickets.classifier.rules:classpath:ticket-classification-rules.json}") String rulesLocation) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.rulesLocation = rulesLocation;
+        this.classifyTimer = meterRegistry.timer("ticket.classifier.duration");
+        meterRegistry.gauge("ticket.classifier.phrases", this, classifier -> classifier.rules.automaton().getPhraseCount());
+        reload();
+    }
+
+    public TicketClassification classify(String subject, String content) {
+        long started = System.nanoTime();
+        RuleSet current = rules;
+        int[] bestRank = {Integer.MAX_VALUE};
+        int[] categoryScores = new int[CATEGORIES.length];
+
+        current.automaton().scan(subject, phrase -> current.apply(phrase, bestRank, categoryScores));
+        current.automaton().scan(content, phrase -> current.apply(phrase, bestRank, categoryScores));
+
+        Priority priority = current.defaultPriority();
+        if (bestRank[0] != Integer.MAX_VALUE) {
+            for (Priority candidate : Priority.values()) {
+                if (candidate.getRank() == bestRank[0]) {
+                    priority = candidate;
+                }
+            }
+        }
+        Category category = current.defaultCategory();
+        int bestScore = 0;
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            if (categoryScores[i] > bestScore) {
+                bestScore = categoryScores[i];
+                category = CATEGORIES[i];
+            }
+        }
+
+        classifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return new TicketClassification(priority, category);
+    }
+
+    // Cheap when nothing changed: only the file's modification time is read
+    @Scheduled(initialDelayString = "${tickets.classifier.reload-interval-ms:30000}",
+            fixedDelayString = "${tickets.classifier.reload-interval-ms:30000}")
+    public synchronized void reload() {
+        Resource resource = resourceLoader.getResource(rulesLocation);
+        long lastModified;
+        try {
+            lastModified = resource.exists() ? resource.lastModified() : Long.MIN_VALUE;
+        } catch (IOException e) {
+            // Not backed by a file (e.g. inside a jar): loaded once and never reloaded
+            lastModified = 0;
+        }
+        if (lastModified == rulesLastModified) {
+            return;
+        }
+        if (!resource.exists()) {
+            logger.warn("Ticket classification rules not found at {}; using defaults", rulesLocation);
+            rulesLastModified = lastModified;
+            return;
+        }
+
+        try (InputStream in = resource.getInputStream()) {
+            RulesFile file = objectMapper.readValue(in, RulesFile.class);
+            RuleSet compiled = RuleSet.compile(file);
+            rules = compiled;
+            rulesLastModified = lastModified;
+            logger.info("Loaded {} ticket classification rules ({} phrases) from {}",
+                    file.rules() == null ? 0 : file.rules().size(), compiled.automaton().getPhraseCount(), rulesLocation);
+        } catch (Exception e) {
+            // Keeps the rules in use; retried on the next check only if the file changes again
+            rulesLastModified = lastModified;
+            logger.error("Invalid ticket classification rules at {}, keeping the previous rules: {}",
+                    rulesLocation, e.getMessage());
+        }
+    }
+
+    record RulesFile(Priority defaultPriority, Category defaultCategory, List<Rule> rules) {
+    }
+
+    record Rule(Priority priority, Category category, Integer weight, List<String> phrases) {
+    }
+
+    /**
+     * A compiled rules file. Phrase ids index the per-phrase arrays; a rule contributes one entry per phrase.
+     */
+    private record RuleSet(PhraseAutomaton automaton, int[] phraseRanks, int[] phraseCategories, int[] phraseWeights,
+                           Priority defaultPriority, Category defaultCategory) {
+
+        static final RuleSet EMPTY = new RuleSet(PhraseAutomaton.build(List.of()), new int[0], new int[0], new int[0],
+                Priority.NORMAL, Category.SUPPORT);
+
+        static RuleSet compile(RulesFile file) {
+            List<String> phrases = new ArrayList<>();
+            List<int[]> targets = new ArrayList<>();
+            if (file.rules() != null) {
+                for (Rule rule : file.rules()) {
+                    if (rule == null || rule.phrases() == null || (rule.priority() == null && rule.category() == null)) {
+                        continue;
+                    }
+                    int rank = rule.priority() == null ? Integer.MAX_VALUE : rule.priority().getRank();
+                    int category = rule.category() == null ? -1 : rule.category().ordinal();
+                    int weight = rule.weight() == null ? 1 : Math.max(0, rule.weight());
+                    for (String phrase : rule.phrases()) {
+                        phrases.add(phrase);
+                        targets.add(new int[]{rank, category, weight});
+                    }
+                }
+            }
+
+            int[] ranks = new int[phrases.size()];
+            int[] categories = new int[phrases.size()];
+            int[] weights = new int[phrases.size()];
+            for (int i = 0; i < targets.size(); i++) {
+                ranks[i] = targets.get(i)[0];
+                categories[i] = targets.get(i)[1];
+                weights[i] = targets.get(i)[2];
+            }
+            return new RuleSet(PhraseAutomaton.build(phrases), ranks, categories, weights,
+                    file.defaultPriority() == null ? Priority.NORMAL : file.defaultPriority(),
+                    file.defaultCategory() == null ? Category.SUPPORT : file.defaultCategory());
+        }
+
+        void apply(int phrase, int[] bestRank, int[] categoryScores) {
+            bestRank[0] = Math.min(bestRank[0], phraseRanks[phrase]);
+            if (phraseCategories[phrase] >= 0) {
+                categoryScores[phraseCategories[phrase]] += phraseWeights[phrase];
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.domain.TicketOutboxEvent;
+import com.joinai_support.repository.TicketOutboxEventRepository;
+import com.joinai_support.utils.TicketEventType;
+import com.joinai_support.utils.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records the MongoDB side effects of a ticket change as outbox rows in the caller's transaction.
+ * Nothing here talks to Mongo; {@link TicketEventRelay} applies the events after commit.
+ */
+@Component
+public class TicketEventOutbox {
+
+    private final TicketOutboxEventRepository ticketOutboxEventRepository;
+    private final TicketEventRelay ticketEventRelay;
+
+    public TicketEventOutbox(TicketOutboxEventRepository ticketOutboxEventRepository,
+                             TicketEventRelay ticketEventRelay) {
+        this.ticketOutboxEventRepository = ticketOutboxEventRepository;
+        this.ticketEventRelay = ticketEventRelay;
+    }
+
+    public void recordCreated(SupportTicket ticket) {
+        TicketOutboxEvent event = newEvent(ticket.getId(), TicketEventType.RECORD_CREATED, LocalDateTime.now());
+        event.setMessage(ticket.getContent());
+        event.setIssuerEmail(ticket.getIssuerEmail());
+        event.setPriority(ticket.getPriority());
+        event.setCategory(ticket.getCategory());
+        save(event);
+    }
+
+    public void conversationEntry(Long ticketId, String actorRole, String channel, String message, LocalDateTime timestamp) {
+        TicketOutboxEvent event = newEvent(ticketId, TicketEventType.CONVERSATION_ENTRY, timestamp);
+        event.setActorRole(actorRole);
+        event.setChannel(channel);
+        event.setMessage(message);
+        save(event);
+    }
+
+    public void replyAdded(Long ticketId, String reply) {
+        TicketOutboxEvent event = newEvent(ticketId, TicketEventType.REPLY_ADDED, LocalDateTime.now());
+        event.setMessage(reply);
+        save(event);
+    }
+
+    private TicketOutboxEvent newEvent(Long ticketId, TicketEventType type, LocalDateTime timestamp) {
+        TicketOutboxEvent event = new TicketOutboxEvent();
+        event.setTicketId(ticketId);
+        event.setType(type);
+        event.setOccurredAt(timestamp);
+        return event;
+    }
+
+    private void save(TicketOutboxEvent event) {
+        ticketOutboxEventRepository.save(event);
+        TransactionCallbacks.afterCommit(ticketEventRelay::wakeUp);
+    }
+}
@@ -0,0 +1,238 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.TicketAnalysis;
+import com.joinai_support.domain.TicketOutboxEvent;
+import com.joinai_support.repository.TicketOutboxEventRepository;
+import com.joinai_support.utils.OutboxStatus;
+import com.joinai_support.utils.TicketEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link TicketOutboxEvent}s to MongoDB, at least once and in order per ticket.
+ * Each round claims only the oldest pending event of every ticket, so a ticket's events never overtake
+ * each other, while different tickets progress independently. Mongo writes are keyed by the event id,
+ * which makes redelivery after a crash or a lost acknowledgement harmless.
+ */
+@Component
+public class TicketEventRelay {
+    private static final Logger logger = LoggerFactory.getLogger(TicketEventRelay.class);
+
+    // How long a claimed event stays invisible to other relay threads while it is being applied
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(2);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final TicketOutboxEventRepository ticketOutboxEventRepository;
+    private final TicketAnalysisServiceImpl ticketAnalysisServiceImpl;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retention;
+    private final ThreadPoolExecutor relays;
+
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+
+    public TicketEventRelay(TicketOutboxEventRepository ticketOutboxEventRepository,
+                            TicketAnalysisServiceImpl ticketAnalysisServiceImpl,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${tickets.outbox.relay-threads:2}") int relayThreads,
+                            @Value("${tickets.outbox.batch-size:100}") int batchSize,
+                            @Value("${tickets.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${tickets.outbox.retention-hours:72}") long retentionHours) {
+        this.ticketOutboxEventRepository = ticketOutboxEventRepository;
+        this.ticketAnalysisServiceImpl = ticketAnalysisServiceImpl;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retention = Duration.ofHours(Math.max(1, retentionHours));
+
+        int threads = Math.max(1, relayThreads);
+        this.relays = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("ticket-event-relay-"),
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        this.processed = meterRegistry.counter("ticket.outbox.processed");
+        this.retried = meterRegistry.counter("ticket.outbox.retried");
+        this.failed = meterRegistry.counter("ticket.outbox.failed");
+    }
+
+    public void wakeUp() {
+        if (!relays.isShutdown()) {
+            relays.execute(this::drain);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${tickets.outbox.poll-interval-ms:10000}",
+            fixedDelayString = "${tickets.outbox.poll-interval-ms:10000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(initialDelay = 600000, fixedDelay = 3600000)
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(status -> ticketOutboxEventRepository
+                .deleteByStatusAndProcessedAtBefore(OutboxStatus.PROCESSED, LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} processed ticket outbox events", deleted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        relays.shutdown();
+        if (!relays.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Ticket event relay still busy at shutdown; pending events stay in the outbox");
+        }
+    }
+
+    private void drain() {
+        try {
+            List<TicketOutboxEvent> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    record(batch, apply(batch));
+                }
+            } while (!batch.isEmpty() && !relays.isShutdown());
+        } catch (Exception e) {
+            logger.error("Ticket event relay round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<TicketOutboxEvent> claim() {
+        List<TicketOutboxEvent> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<TicketOutboxEvent> due = ticketOutboxEventRepository.lockDueHeads(now, PageRequest.of(0, batchSize));
+            for (TicketOutboxEvent event : due) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setNextAttemptAt(now.plus(CLAIM_LEASE));
+            }
+            return due;
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    /**
+     * New Mongo records of the batch go out as one bulk insert; the remaining events are applied one by one.
+     * @return the error for every event that could not be applied, keyed by event id
+     */
+    private Map<Long, String> apply(List<TicketOutboxEvent> batch) {
+        Map<Long, String> errors = new HashMap<>();
+
+        List<TicketAnalysis> records = new ArrayList<>();
+        Map<String, Long> recordEvents = new HashMap<>();
+        for (TicketOutboxEvent event : batch) {
+            if (event.getType() == TicketEventType.RECORD_CREATED) {
+                TicketAnalysis record = new TicketAnalysis(
+                        String.valueOf(event.getTicketId()), event.getMessage(), event.getIssuerEmail());
+                record.classify(event.getPriority(), event.getCategory());
+                record.getProcessedEventIds().add(event.getId());
+                records.add(record);
+                recordEvents.put(record.getTicketId(), event.getId());
+            }
+        }
+        try {
+            ticketAnalysisServiceImpl.createRecords(records)
+                    .forEach((ticketId, error) -> errors.put(recordEvents.get(ticketId), error));
+        } catch (Exception e) {
+            recordEvents.values().forEach(eventId -> errors.put(eventId, describe(e)));
+        }
+
+        for (TicketOutboxEvent event : batch) {
+            if (event.getType() == TicketEventType.RECORD_CREATED) {
+                continue;
+            }
+            try {
+                applyEvent(event);
+            } catch (Exception e) {
+                errors.put(event.getId(), describe(e));
+            }
+        }
+        return errors;
+    }
+
+    private void applyEvent(TicketOutboxEvent event) {
+        String ticketId = String.valueOf(event.getTicketId());
+        switch (event.getType()) {
+            case RECORD_CREATED -> ticketAnalysisServiceImpl.createRecord(
+                    ticketId, event.getMessage(), event.getIssuerEmail(), event.getPriority(), event.getCategory(),
+                    event.getId());
+            case CONVERSATION_ENTRY -> ticketAnalysisServiceImpl.appendConversationEntry(
+                    ticketId, event.getActorRole(), event.getChannel(), event.getMessage(),
+                    event.getOccurredAt(), event.getId());
+            case REPLY_ADDED -> ticketAnalysisServiceImpl.addReply(
+                    ticketId, event.getMessage(), event.getOccurredAt(), event.getId());
+        }
+    }
+
+    private void record(List<TicketOutboxEvent> batch, Map<Long, String> errors) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        batch.forEach(event -> ids.add(event.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (TicketOutboxEvent event : ticketOutboxEventRepository.findAllById(ids)) {
+                String error = errors.get(event.getId());
+                if (error == null) {
+                    event.setStatus(OutboxStatus.PROCESSED);
+                    event.setProcessedAt(now);
+                    event.setLastError(null);
+                    processed.increment();
+                } else if (event.getAttempts() >= maxAttempts) {
+                    // Parked so the ticket's later events are not blocked forever
+                    event.setStatus(OutboxStatus.FAILED);
+                    event.setLastError(truncate(error));
+                    failed.increment();
+                    logger.error("Giving up on {} event {} for ticket {} after {} attempts: {}",
+                            event.getType(), event.getId(), event.getTicketId(), event.getAttempts(), error);
+                } else {
+                    event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+                    event.setLastError(truncate(error));
+                    retried.increment();
+                    logger.warn("Failed to apply {} event {} for ticket {} (attempt {}), will retry: {}",
+                            event.getType(), event.getId(), event.getTicketId(), event.getAttempts(), error);
+                }
+            }
+        });
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration delay = Duration.ofSeconds(5).multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String describe(Exception e) {
+        return e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,140 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.utils.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Deduplicates ticket submissions within a time window.
+ * The authority is the {@code ticket_idempotency_keys} table: a key is claimed with an
+ * {@code INSERT ... ON CONFLICT}, so of several concurrent submissions exactly one wins and the others
+ * wait for its transaction and then see its ticket. A small bounded cache in front answers repeat
+ * retries on this instance without a database round trip.
+ */
+@Component
+public class TicketIdempotencyGuard {
+    private static final Logger logger = LoggerFactory.getLogger(TicketIdempotencyGuard.class);
+
+    // Inserts the key, or takes over a row whose window has expired; 0 rows means someone else holds it
+    private static final String CLAIM_SQL = "INSERT INTO ticket_idempotency_keys (idempotency_key, created_at) VALUES (?, ?) " +
+            "ON CONFLICT (idempotency_key) DO UPDATE SET created_at = EXCLUDED.created_at, ticket_id = NULL " +
+            "WHERE ticket_idempotency_keys.created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration window;
+    private final Map<String, CachedTicket> cache;
+
+    public TicketIdempotencyGuard(JdbcTemplate jdbcTemplate,
+                                  @Value("${tickets.idempotency.window-minutes:1440}") long windowMinutes,
+                                  @Value("${tickets.idempotency.cache-size:10000}") int cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.window = Duration.ofMinutes(Math.max(1, windowMinutes));
+        int maxEntries = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedTicket> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Derives the dedupe key: the client's Idempotency-Key header when present, otherwise the request content.
+     * Either way the stored value is a fixed-length SHA-256 hex digest.
+     */
+    public static String keyFor(String idempotencyKey, String email, String subject, String content) {
+        String source;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            source = "header:" + idempotencyKey.trim();
+        } else {
+            source = "content:" + (email == null ? "" : email.trim().toLowerCase(Locale.ROOT))
+                    + '\n' + (subject == null ? "" : subject.trim())
+                    + '\n' + (content == null ? "" : content.trim());
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return the ticket already opened under this key on this instance, if still inside the window
+     */
+    public synchronized Long cachedTicketId(String key) {
+        CachedTicket cached = cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt().isBefore(LocalDateTime.now())) {
+            cache.remove(key);
+            return null;
+        }
+        return cached.ticketId();
+    }
+
+    /**
+     * Claims the key inside the caller's transaction. Blocks while another transaction holds an uncommitted claim.
+     * @return true if this request owns the key and should open the ticket
+     */
+    public boolean claim(String key) {
+        LocalDateTime now = LocalDateTime.now();
+        int claimed = jdbcTemplate.update(CLAIM_SQL, key, Timestamp.valueOf(now), Timestamp.valueOf(now.minus(window)));
+        return claimed > 0;
+    }
+
+    public Long existingTicketId(String key) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT ticket_id FROM ticket_idempotency_keys WHERE idempotency_key = ?", Long.class, key);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * Binds the opened ticket to the claimed key; the cache only learns about it once the transaction commits.
+     */
+    public void complete(String key, Long ticketId) {
+        jdbcTemplate.update("UPDATE ticket_idempotency_keys SET ticket_id = ? WHERE idempotency_key = ?", ticketId, key);
+        remember(key, ticketId);
+    }
+
+    public void remember(String key, Long ticketId) {
+        if (ticketId == null) {
+            return;
+        }
+        CachedTicket cached = new CachedTicket(ticketId, LocalDateTime.now().plus(window));
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                cache.put(key, cached);
+            }
+        });
+    }
+
+    @Scheduled(initialDelay = 300000, fixedDelay = 3600000)
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM ticket_idempotency_keys WHERE created_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(window)));
+        if (deleted > 0) {
+            logger.info("Purged {} expired ticket idempotency keys", deleted);
+        }
+    }
+
+    private record CachedTicket(Long ticketId, LocalDateTime expiresAt) {
+    }
+}
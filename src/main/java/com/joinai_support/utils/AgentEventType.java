@@ -0,0 +1,5 @@
+package com.joinai_support.utils;
+
+public enum AgentEventType {
+    TICKET_ASSIGNED, REPLY_ADDED, STATUS_CHANGED, STATS
+}
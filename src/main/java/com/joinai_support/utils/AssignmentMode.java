@@ -0,0 +1,10 @@
+package com.joinai_support.utils;
+
+/**
+ * How new tickets reach agents: assigned to the least loaded agent at intake, or left in the
+ * unassigned queue until an agent claims them.
+ */
+public enum AssignmentMode {
+    PUSH,
+    PULL
+}
@@ -0,0 +1,84 @@
+package com.joinai_support.utils;
+
+import com.joinai_support.dto.ResourceVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * ETag handling for the read-only dashboard endpoints. Most of them are POSTs carrying the caller's email,
+ * so a matching If-None-Match is answered with 304 here rather than the 412 Spring applies to non-GET requests.
+ */
+public final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Weak ETag over the resource version and whatever else shapes the response (caller, filters, paging).
+     */
+    public static String etag(ResourceVersion version, Object... discriminators) {
+        StringBuilder source = new StringBuilder()
+                .append(version.count()).append('|').append(version.lastModified());
+        for (Object discriminator : discriminators) {
+            source.append('|').append(Objects.toString(discriminator, ""));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 304 without calling the loader when the client already holds this version, otherwise the loaded response
+     * tagged with the ETag.
+     */
+    public static <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, Supplier<ResponseEntity<T>> loader) {
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        return withETag(loader.get(), etag);
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaqueTag(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    // Only successful responses carry the validator; errors must not be cached against it
+    public static <T> ResponseEntity<T> withETag(ResponseEntity<T> response, String etag) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .eTag(etag)
+                .body(response.getBody());
+    }
+
+    // Weak comparison: W/"x" and "x" are the same validator
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
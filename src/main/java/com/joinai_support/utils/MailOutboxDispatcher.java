@@ -0,0 +1,240 @@
+package com.joinai_support.utils;
+
+import com.joinai_support.domain.MailOutboxMessage;
+import com.joinai_support.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers {@link MailOutboxMessage}s from a small fixed pool of dispatcher threads.
+ * Each round locks a batch of due messages, pushes the whole batch through one SMTP connection
+ * and records the outcome per message. Failed messages are retried with exponential backoff until
+ * {@code max-attempts} is reached and are then marked {@link MailStatus#FAILED}. The body, which can carry
+ * passwords and one-time codes, is cleared once a message is settled, and settled rows are purged after
+ * {@code retention-hours}.
+ */
+@Component
+public class MailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    // How long a claimed message stays invisible to other dispatchers while it is being sent
+    private static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final List<MailStatus> SETTLED = List.of(MailStatus.SENT, MailStatus.FAILED);
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String mailUsername;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+    private final ThreadPoolExecutor dispatchers;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+                                JavaMailSender mailSender,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${spring.mail.username:}") String mailUsername,
+                                @Value("${mail.outbox.dispatcher-threads:2}") int dispatcherThreads,
+                                @Value("${mail.outbox.batch-size:50}") int batchSize,
+                                @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                                @Value("${mail.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                                @Value("${mail.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                @Value("${mail.outbox.retention-hours:168}") long retentionHours) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = transactionTemplate;
+        this.mailUsername = mailUsername;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Duration.ofMillis(Math.max(1, initialBackoffMs));
+        this.maxBackoff = Duration.ofMillis(Math.max(initialBackoffMs, maxBackoffMs));
+        this.retention = Duration.ofHours(Math.max(1, retentionHours));
+
+        int threads = Math.max(1, dispatcherThreads);
+        // One queued wake-up is enough: a running dispatcher keeps draining until nothing is due
+        this.dispatchers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("mail-dispatcher-"),
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        this.sent = meterRegistry.counter("mail.outbox.sent");
+        this.retried = meterRegistry.counter("mail.outbox.retried");
+        this.failed = meterRegistry.counter("mail.outbox.failed");
+    }
+
+    /**
+     * Asks the pool to deliver whatever is due. Cheap to call often; surplus wake-ups are dropped.
+     */
+    public void wakeUp() {
+        if (!dispatchers.isShutdown()) {
+            dispatchers.execute(this::drain);
+        }
+    }
+
+    // Picks up retries whose backoff has expired and anything a wake-up missed
+    @Scheduled(initialDelayString = "${mail.outbox.poll-interval-ms:15000}",
+            fixedDelayString = "${mail.outbox.poll-interval-ms:15000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(initialDelay = 600000, fixedDelay = 3600000)
+    public void purgeSettled() {
+        Integer deleted = transactionTemplate.execute(status -> mailOutboxRepository
+                .deleteByStatusInAndCreatedAtBefore(SETTLED, LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.info("Purged {} settled mail outbox messages", deleted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        dispatchers.shutdown();
+        if (!dispatchers.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Mail dispatchers still busy at shutdown; unsent messages stay in the outbox");
+        }
+    }
+
+    private void drain() {
+        try {
+            List<MailOutboxMessage> batch;
+            do {
+                batch = claim();
+                if (!batch.isEmpty()) {
+                    record(batch, send(batch));
+                }
+            } while (batch.size() == batchSize && !dispatchers.isShutdown());
+        } catch (Exception e) {
+            logger.error("Mail dispatch round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<MailOutboxMessage> claim() {
+        List<MailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<MailOutboxMessage> due = mailOutboxRepository.lockDue(
+                    MailStatus.PENDING, now, PageRequest.of(0, batchSize));
+            for (MailOutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(CLAIM_LEASE));
+            }
+            return due;
+        });
+        return claimed == null ? Collections.emptyList() : claimed;
+    }
+
+    /**
+     * Sends the batch over a single transport connection.
+     * @return the error for every message that was not accepted, keyed by outbox id
+     */
+    private Map<Long, String> send(List<MailOutboxMessage> batch) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        for (MailOutboxMessage outboxMessage : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(outboxMessage.getRecipient());
+            if (mailUsername != null && !mailUsername.isBlank()) {
+                message.setFrom(mailUsername.trim());
+            }
+            message.setSubject(outboxMessage.getSubject());
+            message.setText(outboxMessage.getBody());
+            ids.put(message, outboxMessage.getId());
+        }
+
+        Map<Long, String> errors = new HashMap<>();
+        try {
+            mailSender.send(ids.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                ids.values().forEach(id -> errors.put(id, e.getMessage()));
+            } else {
+                failedMessages.forEach((message, cause) -> {
+                    Long id = ids.get(message);
+                    if (id != null) {
+                        errors.put(id, cause.getMessage());
+                    }
+                });
+            }
+        } catch (MailException e) {
+            ids.values().forEach(id -> errors.put(id, e.getMessage()));
+        }
+        return errors;
+    }
+
+    private void record(List<MailOutboxMessage> batch, Map<Long, String> errors) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        batch.forEach(message -> ids.add(message.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (MailOutboxMessage message : mailOutboxRepository.findAllById(ids)) {
+                String error = errors.get(message.getId());
+                if (error == null) {
+                    message.setStatus(MailStatus.SENT);
+                    message.setBody(null);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    sent.increment();
+                    logger.info("Email sent successfully to {}", message.getRecipient());
+                } else if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus(MailStatus.FAILED);
+                    message.setBody(null);
+                    message.setLastError(truncate(error));
+                    failed.increment();
+                    logger.error("Giving up on email {} to {} after {} attempts: {}",
+                            message.getId(), message.getRecipient(), message.getAttempts(), error);
+                } else {
+                    message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                    message.setLastError(truncate(error));
+                    retried.increment();
+                    logger.warn("Failed to send email {} to {} (attempt {}), will retry: {}",
+                            message.getId(), message.getRecipient(), message.getAttempts(), error);
+                }
+            }
+        });
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
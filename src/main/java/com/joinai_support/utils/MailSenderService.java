@@ -1,13 +1,10 @@
 package com.joinai_support.utils;
 
 import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.MailOutboxMessage;
 import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.repository.MailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,16 +17,16 @@ import java.util.regex.Pattern;
 public class MailSenderService {
     private static final Logger logger = LoggerFactory.getLogger(MailSenderService.class);
 
-    private final JavaMailSender mailSender;
-    private final String mailUsername;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailOutboxDispatcher mailOutboxDispatcher;
 
     @Autowired
     public MailSenderService(
-            JavaMailSender mailSender,
-            @Value("${spring.mail.username:}") String mailUsername
+            MailOutboxRepository mailOutboxRepository,
+            MailOutboxDispatcher mailOutboxDispatcher
     ) {
-        this.mailSender = mailSender;
-        this.mailUsername = mailUsername;
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailOutboxDispatcher = mailOutboxDispatcher;
     }
 
     /**
@@ -38,7 +35,6 @@ public class MailSenderService {
      * @param name Name of the recipient
      * @param password Initial password for the account
      */
-    @Async
     public void sendWelcomeEmail(String to, String name, String password) {
         String subject = "Welcome to JoinAI Support Platform";
         String text = "Hello " + name + ",\n\n" +
@@ -57,7 +53,6 @@ public class MailSenderService {
      * @param ticket The support ticket that was created
      * @param admin The admin/agent the ticket is assigned to
      */
-    @Async
     public void sendTicketCreationNotification(SupportTicket ticket, Admin admin) {
         String subject = "New Support Ticket Assigned - #" + ticket.getId();
         String text = "Hello " + admin.getFirstName() + ",\n\n" +
@@ -78,7 +73,6 @@ public class MailSenderService {
      * @param ticket The support ticket that was updated
      * @param admin The admin/agent who is assigned to the ticket
      */
-    @Async
     public void sendTicketUpdateNotification(SupportTicket ticket, Admin admin) {
         String subject = "Support Ticket Updated - #" + ticket.getId();
         String text = "Hello " + admin.getFirstName() + ",\n\n" +
@@ -165,7 +159,6 @@ public class MailSenderService {
      */
 
 
-    @Async
     public void sendTicketOpenedNotification(SupportTicket ticket) {
         if (ticket.getIssuerEmail() == null || ticket.getIssuerEmail().isBlank()) {
             logger.warn("Cannot send ticket opened notification: issuer email is missing for ticket ID: {}",
@@ -182,7 +175,6 @@ public class MailSenderService {
         sendEmail(ticket.getIssuerEmail(), emailSubject, emailBody);
     }
 
-    @Async
     private String buildTicketCreationEmailBody(SupportTicket ticket) {
         StringBuilder emailBody = new StringBuilder();
 
@@ -240,7 +232,6 @@ public class MailSenderService {
      * @param email Email address of the recipient
      */
 
-    @Async
     public void sendPasswordResetEmail(String otp, String email) {
         String subject = "Password Reset Request - JoinAI Support Platform";
         String text = "Hello,\n\n" +
@@ -272,35 +263,28 @@ public class MailSenderService {
     }
 
     /**
-     * Helper method to send emails
+     * Helper method to queue emails in the mail outbox.
+     * The message is stored in the caller's transaction and delivered by {@link MailOutboxDispatcher} after commit.
      * @param to Email address of the recipient
      * @param subject Subject of the email
      * @param text Body of the email
      */
-
-    @Async
     private void sendEmail(String to, String subject, String text) {
         String recipient = to == null ? null : to.trim();
 
-        // Validate email address before sending
+        // Validate email address before queueing
         if (!isValidEmail(recipient)) {
             logger.error("Invalid email address: {}, email not sent", to);
             return; // Skip sending email to invalid addresses
         }
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(recipient);
-            if (mailUsername != null && !mailUsername.isBlank()) {
-                message.setFrom(mailUsername.trim());
-            }
-            message.setSubject(subject);
-            message.setText(text);
-            mailSender.send(message);
-            logger.info("Email sent successfully to {}", recipient);
-        } catch (MailException e) {
-            logger.error("Failed to send email to {}: {}", recipient, e.getMessage(), e);
-            throw new RuntimeException("Failed to send email", e);
-        }
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(text);
+        mailOutboxRepository.save(message);
+        logger.info("Email to {} queued in outbox", recipient);
+
+        TransactionCallbacks.afterCommit(mailOutboxDispatcher::wakeUp);
     }
 }
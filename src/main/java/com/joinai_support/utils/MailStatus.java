@@ -0,0 +1,5 @@
+package com.joinai_support.utils;
+
+public enum MailStatus {
+    PENDING, SENT, FAILED
+}
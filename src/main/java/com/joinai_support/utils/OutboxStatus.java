@@ -0,0 +1,5 @@
+package com.joinai_support.utils;
+
+public enum OutboxStatus {
+    PENDING, PROCESSED, FAILED
+}
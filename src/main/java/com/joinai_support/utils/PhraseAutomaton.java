@@ -0,0 +1,186 @@
+package com.joinai_support.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed set of phrases. A scan reads the text once, whatever the number
+ * of phrases, and reports every occurrence. Matching ignores case and punctuation and only accepts whole
+ * words, so "down" is found in "Site down!" but not in "download". Immutable once built; a single instance
+ * can be shared by any number of threads.
+ */
+public final class PhraseAutomaton {
+    private static final char SEPARATOR = ' ';
+    private static final int[] NO_OUTPUT = new int[0];
+
+    // Per state: outgoing characters in ascending order and the state each one leads to
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    // Per state: ids of the phrases that end here, including those reached through failure links
+    private final int[][] outputs;
+    private final int phraseCount;
+
+    private PhraseAutomaton(char[][] edgeChars, int[][] edgeTargets, int[] failure, int[][] outputs, int phraseCount) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.phraseCount = phraseCount;
+    }
+
+    /**
+     * Compiles the phrases; a phrase's id is its index in the list. Phrases without any letter or digit never match.
+     */
+    public static PhraseAutomaton build(List<String> phrases) {
+        List<Map<Character, Integer>> edges = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        edges.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+
+        for (int id = 0; id < phrases.size(); id++) {
+            String phrase = normalize(phrases.get(id));
+            if (phrase.isBlank()) {
+                continue;
+            }
+            // Padded with separators so that a match always starts and ends on a word boundary
+            String padded = SEPARATOR + phrase + SEPARATOR;
+            int state = 0;
+            for (int i = 0; i < padded.length(); i++) {
+                Integer next = edges.get(state).get(padded.charAt(i));
+                if (next == null) {
+                    next = edges.size();
+                    edges.get(state).put(padded.charAt(i), next);
+                    edges.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ends.get(state).add(id);
+        }
+
+        int states = edges.size();
+        char[][] edgeChars = new char[states][];
+        int[][] edgeTargets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            Character[] chars = edges.get(state).keySet().toArray(new Character[0]);
+            Arrays.sort(chars);
+            edgeChars[state] = new char[chars.length];
+            edgeTargets[state] = new int[chars.length];
+            for (int i = 0; i < chars.length; i++) {
+                edgeChars[state][i] = chars[i];
+                edgeTargets[state][i] = edges.get(state).get(chars[i]);
+            }
+        }
+
+        // Breadth first, so a state's failure target is complete before the state itself is visited
+        int[] failure = new int[states];
+        int[][] outputs = new int[states][];
+        outputs[0] = NO_OUTPUT;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            outputs[child] = toArray(ends.get(child), NO_OUTPUT);
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < edgeChars[state].length; i++) {
+                char c = edgeChars[state][i];
+                int child = edgeTargets[state][i];
+                int fallback = failure[state];
+                int target;
+                while ((target = step(edgeChars, edgeTargets, fallback, c)) < 0 && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = Math.max(target, 0);
+                outputs[child] = toArray(ends.get(child), outputs[failure[child]]);
+                queue.add(child);
+            }
+        }
+
+        return new PhraseAutomaton(edgeChars, edgeTargets, failure, outputs, phrases.size());
+    }
+
+    public int getPhraseCount() {
+        return phraseCount;
+    }
+
+    /**
+     * Reports the id of every phrase occurrence in the text, in the order the occurrences end.
+     */
+    public void scan(CharSequence text, IntConsumer onMatch) {
+        if (text == null || phraseCount == 0) {
+            return;
+        }
+        int state = feed(0, SEPARATOR, onMatch);
+        boolean separated = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == SEPARATOR) {
+                // Runs of whitespace and punctuation count as one separator
+                if (separated) {
+                    continue;
+                }
+                separated = true;
+            } else {
+                separated = false;
+            }
+            state = feed(state, c, onMatch);
+        }
+        if (!separated) {
+            feed(state, SEPARATOR, onMatch);
+        }
+    }
+
+    private int feed(int state, char c, IntConsumer onMatch) {
+        int next;
+        while ((next = step(edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+            state = failure[state];
+        }
+        state = Math.max(next, 0);
+        for (int id : outputs[state]) {
+            onMatch.accept(id);
+        }
+        return state;
+    }
+
+    private static int step(char[][] edgeChars, int[][] edgeTargets, int state, char c) {
+        int index = Arrays.binarySearch(edgeChars[state], c);
+        return index < 0 ? -1 : edgeTargets[state][index];
+    }
+
+    private static String normalize(String phrase) {
+        if (phrase == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(phrase.length());
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = fold(phrase.charAt(i));
+            if (c != SEPARATOR || (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != SEPARATOR)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().trim();
+    }
+
+    private static char fold(char c) {
+        return Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : SEPARATOR;
+    }
+
+    private static int[] toArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+}
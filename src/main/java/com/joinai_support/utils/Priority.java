@@ -1,5 +1,23 @@
 package com.joinai_support.utils;
 
 public enum Priority {
-    HIGH, LOW, NORMAL, URGENT, MEDIUM, CRITICAL
+    // Persisted by ordinal, so the declaration order must not change; queue order comes from the rank
+    HIGH(2), LOW(5), NORMAL(4), URGENT(1), MEDIUM(3), CRITICAL(0);
+
+    private final int rank;
+
+    Priority(int rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * Position in the work queue, most urgent first.
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public static int rankOf(Priority priority) {
+        return (priority == null ? NORMAL : priority).getRank();
+    }
 }
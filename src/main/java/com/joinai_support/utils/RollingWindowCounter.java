@@ -0,0 +1,105 @@
+package com.joinai_support.utils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Time-bucketed event counter backing the {@link StatsWindow} queries.
+ * Events land in a per-minute ring covering the daily window and a per-hour ring covering the
+ * monthly window; a window sum reads at most one ring's worth of buckets, independent of volume.
+ * Not thread-safe: owners guard it with their own lock.
+ */
+public class RollingWindowCounter {
+
+    private final Ring minutes = new Ring(60, StatsWindow.DAILY.getLength());
+    private final Ring hours = new Ring(3600, StatsWindow.MONTHLY.getLength());
+
+    /**
+     * Adds (or with a negative delta, removes) events at the given time.
+     * Times older than the monthly window are ignored on both sides, so add/remove stay symmetric.
+     * @param timestamp when the event happened; null is ignored
+     * @param delta number of events to add
+     */
+    public void add(LocalDateTime timestamp, long delta) {
+        if (timestamp == null) {
+            return;
+        }
+        long epochSecond = timestamp.toEpochSecond(ZoneOffset.UTC);
+        long nowSecond = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        minutes.add(epochSecond, nowSecond, delta);
+        hours.add(epochSecond, nowSecond, delta);
+    }
+
+    /**
+     * @return events with a timestamp inside the window ending at {@code now}, at bucket granularity
+     */
+    public long sum(StatsWindow window, LocalDateTime now) {
+        long nowSecond = now.toEpochSecond(ZoneOffset.UTC);
+        Ring ring = window.getLength().compareTo(StatsWindow.DAILY.getLength()) <= 0 ? minutes : hours;
+        return ring.sum(nowSecond - window.getLength().toSeconds(), nowSecond);
+    }
+
+    public void merge(RollingWindowCounter other, int sign) {
+        minutes.merge(other.minutes, sign);
+        hours.merge(other.hours, sign);
+    }
+
+    /**
+     * Fixed ring of buckets; each slot remembers which bucket it holds so stale slots are
+     * reset on reuse and removals for buckets that already rolled out are dropped.
+     */
+    private static final class Ring {
+        private final long bucketSeconds;
+        private final int capacity;
+        private final long[] labels;
+        private final long[] counts;
+
+        Ring(long bucketSeconds, Duration span) {
+            this.bucketSeconds = bucketSeconds;
+            this.capacity = (int) (span.toSeconds() / bucketSeconds) + 1;
+            this.labels = new long[capacity];
+            this.counts = new long[capacity];
+            Arrays.fill(labels, Long.MIN_VALUE);
+        }
+
+        void add(long epochSecond, long nowSecond, long delta) {
+            long bucket = Math.floorDiv(epochSecond, bucketSeconds);
+            if (bucket <= Math.floorDiv(nowSecond, bucketSeconds) - capacity) {
+                return;
+            }
+            int slot = (int) Math.floorMod(bucket, (long) capacity);
+            if (labels[slot] != bucket) {
+                if (delta < 0 || labels[slot] > bucket) {
+                    return;
+                }
+                labels[slot] = bucket;
+                counts[slot] = 0;
+            }
+            counts[slot] += delta;
+        }
+
+        long sum(long fromSecond, long toSecond) {
+            long first = Math.floorDiv(fromSecond, bucketSeconds);
+            long last = Math.floorDiv(toSecond, bucketSeconds);
+            first = Math.max(first, last - capacity + 1);
+            long sum = 0;
+            for (long bucket = first; bucket <= last; bucket++) {
+                int slot = (int) Math.floorMod(bucket, (long) capacity);
+                if (labels[slot] == bucket) {
+                    sum += counts[slot];
+                }
+            }
+            return sum;
+        }
+
+        void merge(Ring other, int sign) {
+            for (int slot = 0; slot < capacity; slot++) {
+                if (labels[slot] == other.labels[slot]) {
+                    counts[slot] += sign * other.counts[slot];
+                }
+            }
+        }
+    }
+}
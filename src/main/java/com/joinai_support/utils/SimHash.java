@@ -0,0 +1,79 @@
+package com.joinai_support.utils;
+
+/**
+ * 64-bit SimHash of a text over its words. Texts that share most of their wording get
+ * fingerprints that differ in few bits, so near-duplicates are found by Hamming distance.
+ */
+public final class SimHash {
+    // Shorter texts ("help", "still broken") share too little wording for a meaningful fingerprint
+    public static final int MIN_TOKENS = 5;
+    // "I", "to", "my" and the like say nothing about the issue but would dominate short texts
+    private static final int MIN_WORD_LENGTH = 3;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    /**
+     * @return the fingerprint, or null when the text has fewer than {@link #MIN_TOKENS} words
+     */
+    public static Long of(String text) {
+        if (text == null) {
+            return null;
+        }
+        int[] weights = new int[64];
+        int tokens = 0;
+        int i = 0;
+        while (i < text.length()) {
+            while (i < text.length() && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == text.length()) {
+                break;
+            }
+            int start = i;
+            long hash = FNV_OFFSET;
+            while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+                hash = (hash ^ Character.toLowerCase(text.charAt(i))) * FNV_PRIME;
+                i++;
+            }
+            if (i - start >= MIN_WORD_LENGTH) {
+                add(weights, mix(hash));
+                tokens++;
+            }
+        }
+        if (tokens < MIN_TOKENS) {
+            return null;
+        }
+
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static void add(int[] weights, long feature) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((feature >>> bit) & 1L) == 0 ? -1 : 1;
+        }
+    }
+
+    // MurmurHash3 finalizer: spreads FNV's weak low bits over the whole word
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e94cdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,22 @@
+package com.joinai_support.utils;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows shared by every stats endpoint, so "monthly" means the same thing everywhere.
+ */
+public enum StatsWindow {
+    DAILY(Duration.ofHours(24)),
+    WEEKLY(Duration.ofDays(7)),
+    MONTHLY(Duration.ofDays(30));
+
+    private final Duration length;
+
+    StatsWindow(Duration length) {
+        this.length = length;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,5 @@
+package com.joinai_support.utils;
+
+public enum TicketEventType {
+    RECORD_CREATED, CONVERSATION_ENTRY, REPLY_ADDED
+}
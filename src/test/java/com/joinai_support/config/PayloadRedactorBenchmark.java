@@ -0,0 +1,97 @@
+package com.joinai_support.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming {@link PayloadRedactor} against the regex-and-readTree sanitizing it replaced in {@link ApiAuditFilter}.
+ * Run through {@link #main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadRedactorBenchmark {
+
+    private static final int MAX_PAYLOAD_LENGTH = 4000;
+
+    @Param({"login", "ticket", "export"})
+    public String body;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PayloadRedactor payloadRedactor;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        payloadRedactor = new PayloadRedactor(objectMapper, List.of("password", "token", "secret", "otp"));
+        payload = switch (body) {
+            case "login" -> "{\"email\":\"agent@example.com\",\"password\":\"hunter2\"}";
+            case "ticket" -> ticket(0);
+            default -> export(200);
+        };
+    }
+
+    @Benchmark
+    public PayloadRedactor.Redacted streaming() {
+        return payloadRedactor.redact(payload, MAX_PAYLOAD_LENGTH);
+    }
+
+    @Benchmark
+    public PayloadRedactor.Redacted treeBased() {
+        String sanitized = payload
+                .replaceAll("(?i)\"password\"\\s*:\\s*\"[^\"]*\"", "\"password\":\"***\"")
+                .replaceAll("(?i)\"token\"\\s*:\\s*\"[^\"]*\"", "\"token\":\"***\"")
+                .replaceAll("(?i)\"secret\"\\s*:\\s*\"[^\"]*\"", "\"secret\":\"***\"");
+        if (sanitized.length() > MAX_PAYLOAD_LENGTH) {
+            sanitized = sanitized.substring(0, MAX_PAYLOAD_LENGTH) + "...(truncated)";
+        }
+        return new PayloadRedactor.Redacted(sanitized, extractField(sanitized, "email"), extractField(sanitized, "token"));
+    }
+
+    private String extractField(String json, String fieldName) {
+        try {
+            JsonNode value = objectMapper.readTree(json).get(fieldName);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (Exception ignored) {
+            return null;
+        }
+    }
+
+    private static String ticket(int index) {
+        return "{\"subject\":\"Cannot log in " + index + "\",\"content\":\"The portal rejects my password since the "
+                + "last update, although the reset mail arrived.\",\"issuerEmail\":\"customer" + index
+                + "@example.com\",\"metadata\":{\"channel\":\"web\",\"secret\":\"s3cr3t\",\"tags\":[\"login\",\"portal\"]}}";
+    }
+
+    private static String export(int tickets) {
+        StringBuilder json = new StringBuilder("{\"token\":\"abc.def.ghi\",\"tickets\":[");
+        for (int i = 0; i < tickets; i++) {
+            json.append(i == 0 ? "" : ",").append(ticket(i));
+        }
+        return json.append("]}").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PayloadRedactorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.joinai_support.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayloadRedactorTest {
+
+    private final PayloadRedactor payloadRedactor =
+            new PayloadRedactor(new ObjectMapper(), List.of("password", "token", "secret", "otp"));
+
+    @Test
+    void masksSensitiveFieldsAtAnyDepth() {
+        PayloadRedactor.Redacted redacted = payloadRedactor.redact(
+                "{\"user\":{\"name\":\"Ann\",\"Password\":\"hunter2\",\"keys\":[{\"secret\":{\"value\":\"s3cr3t\"}}]},"
+                        + "\"otp\":123456}", 4000);
+
+        assertThat(redacted.payload()).isEqualTo(
+                "{\"user\":{\"name\":\"Ann\",\"Password\":\"***\",\"keys\":[{\"secret\":\"***\"}]},\"otp\":\"***\"}");
+        assertThat(redacted.payload()).doesNotContain("hunter2", "s3cr3t", "123456");
+    }
+
+    @Test
+    void capturesTopLevelEmailAndToken() {
+        PayloadRedactor.Redacted redacted = payloadRedactor.redact(
+                "{\"profile\":{\"email\":\"nested@example.com\",\"token\":\"nested\"},"
+                        + "\"email\":\"agent@example.com\",\"token\":\"abc.def\"}", 4000);
+
+        assertThat(redacted.email()).isEqualTo("agent@example.com");
+        assertThat(redacted.token()).isEqualTo("abc.def");
+        assertThat(redacted.payload()).contains("\"email\":\"agent@example.com\"", "\"token\":\"***\"")
+                .doesNotContain("abc.def");
+    }
+
+    @Test
+    void capturesActorFieldsPastTheOutputLimit() {
+        String payload = "{\"content\":\"" + "x".repeat(100) + "\",\"email\":\"agent@example.com\",\"token\":\"abc\"}";
+
+        PayloadRedactor.Redacted redacted = payloadRedactor.redact(payload, 20);
+
+        assertThat(redacted.payload()).hasSize(20 + PayloadRedactor.TRUNCATED_SUFFIX.length())
+                .endsWith(PayloadRedactor.TRUNCATED_SUFFIX);
+        assertThat(redacted.email()).isEqualTo("agent@example.com");
+        assertThat(redacted.token()).isEqualTo("abc");
+    }
+
+    @Test
+    void fallsBackToPatternMaskingForNonJsonBodies() {
+        PayloadRedactor.Redacted redacted =
+                payloadRedactor.redact("email=agent%40example.com&password=hunter2&otp=123456", 4000);
+
+        assertThat(redacted.payload()).isEqualTo("email=agent%40example.com&password=***&otp=***");
+        assertThat(redacted.email()).isNull();
+        assertThat(redacted.token()).isNull();
+    }
+
+    @Test
+    void truncatesNonJsonBodiesBeforeMasking() {
+        PayloadRedactor.Redacted redacted = payloadRedactor.redact("secret=abc " + "y".repeat(50), 20);
+
+        assertThat(redacted.payload()).isEqualTo("secret=*** " + "y".repeat(9) + PayloadRedactor.TRUNCATED_SUFFIX);
+    }
+
+    @Test
+    void returnsEmptyPayloadForBlankBodies() {
+        assertThat(payloadRedactor.redact("  ", 4000)).isEqualTo(PayloadRedactor.Redacted.EMPTY);
+        assertThat(payloadRedactor.redact(null, 4000)).isEqualTo(PayloadRedactor.Redacted.EMPTY);
+    }
+}
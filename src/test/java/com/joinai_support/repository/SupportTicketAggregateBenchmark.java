@@ -0,0 +1,284 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.TicketAggregate;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.StatsWindow;
+import com.joinai_support.utils.Status;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The grouped {@link SupportTicketRepository#aggregateByAgent} query against the Java-stream recompute it replaced,
+ * which loaded every ticket, walked each agent's ticket collection and derived the counters in memory.
+ * Runs on an in-memory H2 database seeded with a fixed random ticket table; needs a heap of a few GB at 1M rows.
+ * Run through {@link #main} on the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class SupportTicketAggregateBenchmark {
+
+    private static final int AGENTS = 20;
+
+    @Param({"1000000"})
+    public int tickets;
+
+    private AnnotationConfigApplicationContext context;
+    private SupportTicketRepository supportTicketRepository;
+    private AdminRepository adminRepository;
+    private TransactionTemplate readOnly;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+        supportTicketRepository = context.getBean(SupportTicketRepository.class);
+        adminRepository = context.getBean(AdminRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+        List<Long> agentIds = new ArrayList<>();
+        for (int i = 0; i < AGENTS; i++) {
+            Admin agent = new Admin();
+            agent.setEmail("agent" + i + "@example.com");
+            agent.setRole(Role.AGENT);
+            agentIds.add(adminRepository.save(agent).getId());
+        }
+        seedTickets(context.getBean(JdbcTemplate.class), agentIds);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketAggregate groupedQuery() {
+        TicketAggregate totals = new TicketAggregate();
+        for (TicketAggregate row : supportTicketRepository.aggregateByAgent(null,
+                now.minus(StatsWindow.DAILY.getLength()),
+                now.minus(StatsWindow.WEEKLY.getLength()),
+                now.minus(StatsWindow.MONTHLY.getLength()))) {
+            totals.add(row);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<String, Object> javaStreams() {
+        return readOnly.execute(status -> legacyAnalytics());
+    }
+
+    // The fallback of AdminServiceImpl before the grouped query, reduced to the values it reported
+    private Map<String, Object> legacyAnalytics() {
+        List<SupportTicket> allTickets = supportTicketRepository.findAll();
+        List<Admin> agents = adminRepository.findAllByRole(Role.AGENT);
+        LocalDateTime dailyStart = now.minus(StatsWindow.DAILY.getLength());
+        LocalDateTime weeklyStart = now.minus(StatsWindow.WEEKLY.getLength());
+        LocalDateTime monthlyStart = now.minus(StatsWindow.MONTHLY.getLength());
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("total", (long) allTickets.size());
+        analytics.put("open", allTickets.stream().filter(t -> t.getStatus() == Status.OPEN).count());
+        analytics.put("closed", allTickets.stream().filter(t -> t.getStatus() == Status.CLOSED).count());
+        analytics.put("new", allTickets.stream().filter(t -> t.getStatus() == Status.NEW).count());
+        analytics.put("daily", allTickets.stream().filter(t -> within(t.getLaunchTimestamp(), dailyStart)).count());
+        analytics.put("weekly", allTickets.stream().filter(t -> within(t.getLaunchTimestamp(), weeklyStart)).count());
+        analytics.put("monthly", allTickets.stream().filter(t -> within(t.getLaunchTimestamp(), monthlyStart)).count());
+        analytics.put("resolvedToday", allTickets.stream().filter(t -> within(closedAt(t), dailyStart)).count());
+        analytics.put("resolvedWeek", allTickets.stream().filter(t -> within(closedAt(t), weeklyStart)).count());
+        analytics.put("resolvedMonth", allTickets.stream().filter(t -> within(closedAt(t), monthlyStart)).count());
+        analytics.put("response", averageResponseMinutes(allTickets));
+        analytics.put("resolution", averageResolutionMinutes(allTickets));
+        analytics.put("sla", slaBreaches(allTickets));
+
+        for (Admin agent : agents) {
+            List<SupportTicket> agentTickets = agent.getTickets() == null ? List.of() : agent.getTickets();
+            Map<String, Object> performance = new HashMap<>();
+            performance.put("total", (long) agentTickets.size());
+            performance.put("open", agentTickets.stream().filter(t -> t.getStatus() == Status.OPEN).count());
+            performance.put("closed", agentTickets.stream().filter(t -> t.getStatus() == Status.CLOSED).count());
+            performance.put("oldOpen", agentTickets.stream().filter(t -> t.getStatus() == Status.OPEN)
+                    .filter(t -> t.getLaunchTimestamp() != null && !t.getLaunchTimestamp().isAfter(dailyStart)).count());
+            performance.put("high", agentTickets.stream().filter(t -> t.getPriority() == Priority.HIGH
+                    || t.getPriority() == Priority.URGENT || t.getPriority() == Priority.CRITICAL).count());
+            performance.put("replies", agentTickets.stream().mapToLong(SupportTicket::getReplyCount).sum());
+            performance.put("solvedDay", agentTickets.stream().filter(t -> within(closedAt(t), dailyStart)).count());
+            performance.put("solvedWeek", agentTickets.stream().filter(t -> within(closedAt(t), weeklyStart)).count());
+            performance.put("solvedMonth", agentTickets.stream().filter(t -> within(closedAt(t), monthlyStart)).count());
+            performance.put("response", averageResponseMinutes(agentTickets));
+            performance.put("resolution", averageResolutionMinutes(agentTickets));
+            performance.put("sla", slaBreaches(agentTickets));
+            analytics.put(agent.getEmail(), performance);
+        }
+        return analytics;
+    }
+
+    private static double averageResponseMinutes(List<SupportTicket> tickets) {
+        return tickets.stream().map(SupportTicketAggregateBenchmark::responseDuration).flatMap(Optional::stream)
+                .mapToLong(Duration::toMinutes).average().orElse(0.0);
+    }
+
+    private static double averageResolutionMinutes(List<SupportTicket> tickets) {
+        return tickets.stream().map(SupportTicketAggregateBenchmark::resolutionDuration).flatMap(Optional::stream)
+                .mapToLong(Duration::toMinutes).average().orElse(0.0);
+    }
+
+    private static long slaBreaches(List<SupportTicket> tickets) {
+        return tickets.stream().map(SupportTicketAggregateBenchmark::responseDuration).flatMap(Optional::stream)
+                .filter(duration -> duration.toHours() > 24).count();
+    }
+
+    private static Optional<Duration> responseDuration(SupportTicket ticket) {
+        if (ticket.getLaunchTimestamp() == null || ticket.getServedTimestamp() == null) {
+            return Optional.empty();
+        }
+        Duration duration = Duration.between(ticket.getLaunchTimestamp(), ticket.getServedTimestamp());
+        return duration.isNegative() ? Optional.empty() : Optional.of(duration);
+    }
+
+    private static Optional<Duration> resolutionDuration(SupportTicket ticket) {
+        if (ticket.getStatus() != Status.CLOSED || ticket.getLaunchTimestamp() == null) {
+            return Optional.empty();
+        }
+        if (ticket.getTimeLimit() != null && !ticket.getTimeLimit().isNegative()) {
+            return Optional.of(ticket.getTimeLimit());
+        }
+        LocalDateTime resolvedAt = closedAt(ticket);
+        if (resolvedAt == null) {
+            return Optional.empty();
+        }
+        Duration duration = Duration.between(ticket.getLaunchTimestamp(), resolvedAt);
+        return duration.isNegative() ? Optional.empty() : Optional.of(duration);
+    }
+
+    private static LocalDateTime closedAt(SupportTicket ticket) {
+        if (ticket.getStatus() != Status.CLOSED) {
+            return null;
+        }
+        return ticket.getServedTimestamp() != null ? ticket.getServedTimestamp() : ticket.getUpdatedAt();
+    }
+
+    private static boolean within(LocalDateTime value, LocalDateTime startInclusive) {
+        return value != null && !value.isBefore(startInclusive);
+    }
+
+    private void seedTickets(JdbcTemplate jdbcTemplate, List<Long> agentIds) {
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        String insert = "insert into support_ticket (id, launch_timestamp, served_timestamp, updated_at, subject, "
+                + "priority, priority_rank, reply_count, status, time_limit, admin_id, issuer_email) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(10_000);
+        for (int i = 1; i <= tickets; i++) {
+            LocalDateTime launch = now.minusMinutes(random.nextInt(60 * 24 * 60));
+            LocalDateTime served = random.nextInt(10) < 7 ? launch.plusMinutes(random.nextInt(3 * 24 * 60)) : null;
+            Priority priority = priorities[random.nextInt(priorities.length)];
+            batch.add(new Object[]{
+                    (long) i,
+                    Timestamp.valueOf(launch),
+                    served == null ? null : Timestamp.valueOf(served),
+                    Timestamp.valueOf(launch.plusMinutes(random.nextInt(4 * 24 * 60))),
+                    "Ticket " + i,
+                    priority.ordinal(),
+                    priority.getRank(),
+                    random.nextInt(6),
+                    statuses[random.nextInt(statuses.length)].name(),
+                    served == null ? null : Duration.between(launch, served),
+                    random.nextInt(10) == 0 ? null : agentIds.get(random.nextInt(agentIds.size())),
+                    "customer" + random.nextInt(50_000) + "@example.com"});
+            if (batch.size() == 10_000 || i == tickets) {
+                jdbcTemplate.batchUpdate(insert, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = SupportTicketRepository.class, includeFilters = @ComponentScan.Filter(
+            type = FilterType.ASSIGNABLE_TYPE, classes = {SupportTicketRepository.class, AdminRepository.class}))
+    static class JpaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource("jdbc:h2:mem:aggregate-benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.joinai_support.domain");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.hbm2ddl.auto", "create",
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                    "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName(),
+                    "hibernate.default_batch_fetch_size", "50"));
+            return factory;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory.getObject());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SupportTicketAggregateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
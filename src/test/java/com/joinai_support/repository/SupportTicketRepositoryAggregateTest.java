@@ -0,0 +1,219 @@
+package com.joinai_support.repository;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.TicketAggregate;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.StatsWindow;
+import com.joinai_support.utils.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link SupportTicketRepository#aggregateByAgent} against the per-ticket Java code it replaced, on a
+ * fixture that covers every status, every priority, missing and out-of-order timestamps and window boundaries.
+ * Durations are whole minutes, so the old per-ticket minute averages and the new second sums agree exactly.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+class SupportTicketRepositoryAggregateTest {
+
+    private static final int TICKETS = 400;
+
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+    @Autowired
+    private AdminRepository adminRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    private final LocalDateTime dailyStart = now.minus(StatsWindow.DAILY.getLength());
+    private final LocalDateTime weeklyStart = now.minus(StatsWindow.WEEKLY.getLength());
+    private final LocalDateTime monthlyStart = now.minus(StatsWindow.MONTHLY.getLength());
+
+    private final List<SupportTicket> fixture = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Admin> agents = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Admin agent = new Admin();
+            agent.setEmail("agent" + i + "@example.com");
+            agent.setRole(Role.AGENT);
+            agents.add(adminRepository.save(agent));
+        }
+
+        Random random = new Random(42);
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        for (int i = 0; i < TICKETS; i++) {
+            SupportTicket ticket = new SupportTicket();
+            ticket.setAssignedTo(i % 4 == 3 ? null : agents.get(i % 3));
+            ticket.setStatus(statuses[random.nextInt(statuses.length)]);
+            ticket.setPriority(random.nextInt(8) == 0 ? null : priorities[random.nextInt(priorities.length)]);
+            ticket.setReplyCount(random.nextInt(4));
+
+            // Every fifth ticket sits exactly on a window boundary
+            LocalDateTime launch = switch (i % 10) {
+                case 0 -> dailyStart;
+                case 5 -> weeklyStart;
+                default -> now.minusMinutes(random.nextInt(45 * 24 * 60));
+            };
+            ticket.setLaunchTimestamp(launch);
+
+            int served = random.nextInt(10);
+            if (served < 7) {
+                // Mostly after launch, some past the 25 hour SLA, a few before launch
+                ticket.setServedTimestamp(launch.plusMinutes(random.nextInt(3 * 24 * 60) - (served == 0 ? 600 : 0)));
+            }
+            ticket.setUpdatedAt(launch.plusMinutes(random.nextInt(4 * 24 * 60)));
+            if (ticket.getServedTimestamp() != null && !ticket.getServedTimestamp().isBefore(launch)) {
+                ticket.setTimeLimit(Duration.between(launch, ticket.getServedTimestamp()));
+            }
+            fixture.add(supportTicketRepository.save(ticket));
+        }
+        supportTicketRepository.flush();
+    }
+
+    @Test
+    void groupedAggregateMatchesPerTicketComputation() {
+        Map<Long, List<SupportTicket>> byAgent = new HashMap<>();
+        for (SupportTicket ticket : fixture) {
+            Long agentId = ticket.getAssignedTo() == null ? null : ticket.getAssignedTo().getId();
+            byAgent.computeIfAbsent(agentId, id -> new ArrayList<>()).add(ticket);
+        }
+
+        List<TicketAggregate> rows = supportTicketRepository.aggregateByAgent(null, dailyStart, weeklyStart, monthlyStart);
+
+        assertThat(rows).hasSize(byAgent.size());
+        TicketAggregate totals = new TicketAggregate();
+        for (TicketAggregate row : rows) {
+            assertThat(row).usingRecursiveComparison()
+                    .isEqualTo(expected(row.getAgentId(), byAgent.get(row.getAgentId())));
+            totals.add(row);
+        }
+        assertThat(totals).usingRecursiveComparison().isEqualTo(expected(null, fixture));
+    }
+
+    @Test
+    void aggregateForOneAgentMatchesPerTicketComputation() {
+        Admin agent = fixture.get(0).getAssignedTo();
+        List<SupportTicket> agentTickets = fixture.stream()
+                .filter(ticket -> ticket.getAssignedTo() != null && agent.getId().equals(ticket.getAssignedTo().getId()))
+                .toList();
+
+        List<TicketAggregate> rows = supportTicketRepository.aggregateByAgent(agent.getId(), dailyStart, weeklyStart, monthlyStart);
+
+        assertThat(rows).singleElement().usingRecursiveComparison().isEqualTo(expected(agent.getId(), agentTickets));
+    }
+
+    // The per-ticket rules of the analytics code the aggregate query replaced
+    private TicketAggregate expected(Long agentId, List<SupportTicket> tickets) {
+        TicketAggregate expected = new TicketAggregate();
+        expected.setAgentId(agentId);
+        for (SupportTicket ticket : tickets) {
+            Status status = ticket.getStatus();
+            Priority priority = ticket.getPriority();
+            LocalDateTime launch = ticket.getLaunchTimestamp();
+
+            expected.setTotal(expected.getTotal() + 1);
+            expected.setOpen(expected.getOpen() + count(status == Status.OPEN));
+            expected.setClosed(expected.getClosed() + count(status == Status.CLOSED));
+            expected.setNewTickets(expected.getNewTickets() + count(status == Status.NEW));
+            expected.setHighPriority(expected.getHighPriority()
+                    + count(priority == Priority.HIGH || priority == Priority.URGENT || priority == Priority.CRITICAL));
+            expected.setUrgent(expected.getUrgent() + count(priority == Priority.URGENT || priority == Priority.CRITICAL));
+            expected.setReplies(expected.getReplies() + ticket.getReplyCount());
+            expected.setFirstContactResolved(expected.getFirstContactResolved()
+                    + count(status == Status.CLOSED && ticket.getReplyCount() <= 1));
+
+            Optional<Duration> response = responseDuration(ticket);
+            if (response.isPresent()) {
+                expected.setResponses(expected.getResponses() + 1);
+                expected.setResponseSeconds(expected.getResponseSeconds() + response.get().toSeconds());
+                expected.setSlaBreaches(expected.getSlaBreaches() + count(response.get().toHours() > 24));
+            }
+            Optional<Duration> resolution = resolutionDuration(ticket);
+            if (resolution.isPresent()) {
+                expected.setResolutions(expected.getResolutions() + 1);
+                expected.setResolutionSeconds(expected.getResolutionSeconds() + resolution.get().toSeconds());
+            }
+
+            expected.setDistributionHigh(expected.getDistributionHigh() + count(priority == Priority.HIGH));
+            expected.setDistributionLow(expected.getDistributionLow() + count(priority == Priority.LOW));
+            expected.setDistributionNormal(expected.getDistributionNormal()
+                    + count(priority == Priority.NORMAL || priority == Priority.MEDIUM));
+            expected.setDistributionUrgent(expected.getDistributionUrgent()
+                    + count(priority == Priority.URGENT || priority == Priority.CRITICAL));
+
+            expected.setLaunchedDaily(expected.getLaunchedDaily() + count(within(launch, dailyStart)));
+            expected.setLaunchedWeekly(expected.getLaunchedWeekly() + count(within(launch, weeklyStart)));
+            expected.setLaunchedMonthly(expected.getLaunchedMonthly() + count(within(launch, monthlyStart)));
+            expected.setResolvedDaily(expected.getResolvedDaily() + count(within(closedTimestamp(ticket), dailyStart)));
+            expected.setResolvedWeekly(expected.getResolvedWeekly() + count(within(closedTimestamp(ticket), weeklyStart)));
+            expected.setResolvedMonthly(expected.getResolvedMonthly() + count(within(closedTimestamp(ticket), monthlyStart)));
+            expected.setOldOpen(expected.getOldOpen() + count(status == Status.OPEN && !launch.isAfter(dailyStart)));
+            expected.setClosedLaunchedDaily(expected.getClosedLaunchedDaily()
+                    + count(status == Status.CLOSED && within(launch, dailyStart)));
+            expected.setClosedLaunchedWeekly(expected.getClosedLaunchedWeekly()
+                    + count(status == Status.CLOSED && within(launch, weeklyStart)));
+            expected.setClosedLaunchedMonthly(expected.getClosedLaunchedMonthly()
+                    + count(status == Status.CLOSED && within(launch, monthlyStart)));
+        }
+        return expected;
+    }
+
+    private static Optional<Duration> responseDuration(SupportTicket ticket) {
+        if (ticket.getLaunchTimestamp() == null || ticket.getServedTimestamp() == null) {
+            return Optional.empty();
+        }
+        Duration duration = Duration.between(ticket.getLaunchTimestamp(), ticket.getServedTimestamp());
+        return duration.isNegative() ? Optional.empty() : Optional.of(duration);
+    }
+
+    private static Optional<Duration> resolutionDuration(SupportTicket ticket) {
+        if (ticket.getStatus() != Status.CLOSED || ticket.getLaunchTimestamp() == null) {
+            return Optional.empty();
+        }
+        if (ticket.getTimeLimit() != null && !ticket.getTimeLimit().isNegative()) {
+            return Optional.of(ticket.getTimeLimit());
+        }
+        LocalDateTime resolvedAt = closedTimestamp(ticket);
+        if (resolvedAt == null) {
+            return Optional.empty();
+        }
+        Duration duration = Duration.between(ticket.getLaunchTimestamp(), resolvedAt);
+        return duration.isNegative() ? Optional.empty() : Optional.of(duration);
+    }
+
+    private static LocalDateTime closedTimestamp(SupportTicket ticket) {
+        if (ticket.getStatus() != Status.CLOSED) {
+            return null;
+        }
+        return Objects.requireNonNullElse(ticket.getServedTimestamp(), ticket.getUpdatedAt());
+    }
+
+    private static boolean within(LocalDateTime value, LocalDateTime startInclusive) {
+        return value != null && !value.isBefore(startInclusive);
+    }
+
+    private static long count(boolean condition) {
+        return condition ? 1 : 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.joinai_support.dto.AgentEvent;
+import com.joinai_support.dto.StatsByAgent;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AgentEventChannelTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AgentEventChannel channel = new AgentEventChannel(mock(DataSource.class), objectMapper, true);
+
+    @Test
+    void deliversEventsFromOtherInstancesOnly() throws Exception {
+        List<AgentEvent> received = new ArrayList<>();
+        channel.onReceive((agentId, event) -> received.add(event));
+
+        StatsByAgent stats = new StatsByAgent();
+        stats.setSOLVED_DAILY(3);
+        AgentEvent event = AgentEvent.stats(5, stats);
+
+        channel.receive(objectMapper.writeValueAsString(new AgentEventChannel.Message(channel.instanceId, 1L, event)));
+        channel.receive(objectMapper.writeValueAsString(new AgentEventChannel.Message("elsewhere", 1L, event)));
+        channel.receive("not json");
+
+        assertThat(received).containsExactly(event);
+    }
+}
@@ -0,0 +1,87 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.dto.SystemAnalytics;
+import com.joinai_support.dto.TicketSnapshot;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalyticsReadModelTest {
+
+    private static final long AGENT_ID = 1L;
+
+    private final SupportTicketRepository supportTicketRepository = mock(SupportTicketRepository.class);
+    private final AdminRepository adminRepository = mock(AdminRepository.class);
+    private final AnalyticsReadModel readModel = new AnalyticsReadModel(supportTicketRepository, adminRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        Admin agent = new Admin();
+        agent.setId(AGENT_ID);
+        agent.setEmail("agent@example.com");
+        agent.setRole(Role.AGENT);
+        when(adminRepository.findAllByRole(Role.AGENT)).thenReturn(List.of(agent));
+    }
+
+    @Test
+    void repairsDriftWhileTicketsKeepChanging() {
+        TicketSnapshot first = ticket(1L, Status.OPEN);
+        when(supportTicketRepository.streamAllSnapshots()).thenAnswer(invocation -> Stream.of(first));
+        readModel.verifyAndRebuild();
+
+        // Written through another instance, so the live model never saw it
+        TicketSnapshot elsewhere = ticket(2L, Status.OPEN);
+        TicketSnapshot created = ticket(3L, Status.NEW);
+        TicketSnapshot closed = ticket(1L, Status.CLOSED);
+        when(supportTicketRepository.streamAllSnapshots()).thenAnswer(invocation -> {
+            // Committed on this instance after the query took its snapshot
+            readModel.onTicketChanged(null, created);
+            readModel.onTicketChanged(first, closed);
+            return Stream.of(first, elsewhere);
+        });
+        readModel.verifyAndRebuild();
+
+        SystemAnalytics analytics = readModel.snapshot().orElseThrow();
+        assertThat(analytics.getTotalTickets()).isEqualTo(3);
+        assertThat(analytics.getOpenTickets()).isEqualTo(1);
+        assertThat(analytics.getClosedTickets()).isEqualTo(1);
+        assertThat(analytics.getNewTickets()).isEqualTo(1);
+        assertThat(analytics.getPerformance().get(0).getTotalTickets()).isEqualTo(3);
+    }
+
+    @Test
+    void replaysAgentChangesMadeDuringTheLoad() {
+        when(supportTicketRepository.streamAllSnapshots()).thenAnswer(invocation -> {
+            readModel.removeAgent(AGENT_ID);
+            return Stream.of(ticket(1L, Status.OPEN));
+        });
+        readModel.verifyAndRebuild();
+
+        SystemAnalytics analytics = readModel.snapshot().orElseThrow();
+        assertThat(analytics.getTotalAgents()).isZero();
+        assertThat(analytics.getTotalTickets()).isZero();
+    }
+
+    private TicketSnapshot ticket(Long id, Status status) {
+        return new TicketSnapshot(id, AGENT_ID, status, Priority.NORMAL, now.minusHours(2),
+                status == Status.CLOSED ? now.minusHours(1) : null, now, null, 0);
+    }
+}
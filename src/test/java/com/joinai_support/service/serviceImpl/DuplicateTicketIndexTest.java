@@ -0,0 +1,98 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.SimHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DuplicateTicketIndexTest {
+
+    private static final int ISSUER_MAX_DISTANCE = 10;
+    private static final int MERGE_MAX_DISTANCE = 3;
+    private static final int GLOBAL_MAX_DISTANCE = 5;
+
+    private final DuplicateTicketIndex index = new DuplicateTicketIndex(mock(SupportTicketRepository.class),
+            new SimpleMeterRegistry(), true, ISSUER_MAX_DISTANCE, MERGE_MAX_DISTANCE, GLOBAL_MAX_DISTANCE);
+    private final Random random = new Random(42);
+
+    @Test
+    void findsEveryOtherIssuersTicketWithinTheGlobalDistance() {
+        for (long ticketId = 0; ticketId < 2000; ticketId++) {
+            long signature = random.nextLong();
+            long query = flip(signature, (int) (ticketId % (GLOBAL_MAX_DISTANCE + 1)));
+            index.add(ticketId, "owner@example.com", signature);
+
+            assertThat(index.findSimilar("someone@example.com", query))
+                    .contains(new DuplicateTicketIndex.Match(ticketId, SimHash.distance(signature, query), false));
+            index.remove(ticketId);
+        }
+    }
+
+    @Test
+    void findsNoOtherIssuersTicketPastTheGlobalDistance() {
+        for (long ticketId = 0; ticketId < 2000; ticketId++) {
+            long signature = random.nextLong();
+            index.add(ticketId, "owner@example.com", signature);
+
+            assertThat(index.findSimilar("someone@example.com", flip(signature, GLOBAL_MAX_DISTANCE + 1))).isEmpty();
+            index.remove(ticketId);
+        }
+    }
+
+    @Test
+    void matchesTheIssuersOwnTicketsAtTheLooserDistance() {
+        long signature = random.nextLong();
+        index.add(1L, "Owner@Example.com", signature);
+
+        assertThat(index.findSimilar("owner@example.com", flip(signature, MERGE_MAX_DISTANCE)))
+                .hasValueSatisfying(match -> assertThat(match.mergeable()).isTrue());
+        assertThat(index.findSimilar(" OWNER@example.com ", flip(signature, ISSUER_MAX_DISTANCE)))
+                .hasValueSatisfying(match -> {
+                    assertThat(match.ticketId()).isEqualTo(1L);
+                    assertThat(match.mergeable()).isFalse();
+                });
+        assertThat(index.findSimilar("owner@example.com", flip(signature, ISSUER_MAX_DISTANCE + 1))).isEmpty();
+        assertThat(index.findSimilar("someone@example.com", flip(signature, ISSUER_MAX_DISTANCE))).isEmpty();
+    }
+
+    @Test
+    void prefersTheClosestAndThenTheOldestTicket() {
+        long signature = random.nextLong();
+        index.add(3L, "a@example.com", flip(signature, 2));
+        index.add(2L, "b@example.com", signature);
+        index.add(1L, "c@example.com", signature);
+
+        assertThat(index.findSimilar("d@example.com", signature))
+                .hasValueSatisfying(match -> assertThat(match.ticketId()).isEqualTo(1L));
+    }
+
+    @Test
+    void forgetsRemovedTicketsAndReplacedSignatures() {
+        long signature = random.nextLong();
+        long replacement = ~signature;
+        index.add(1L, "owner@example.com", signature);
+        index.add(1L, "owner@example.com", replacement);
+
+        assertThat(index.findSimilar("owner@example.com", signature)).isEmpty();
+        assertThat(index.findSimilar("someone@example.com", replacement)).isPresent();
+
+        index.remove(1L);
+
+        assertThat(index.findSimilar("owner@example.com", replacement)).isEmpty();
+        assertThat(index.findSimilar("someone@example.com", replacement)).isEmpty();
+    }
+
+    // Flips random bits until exactly that many differ, so the bands hit vary from one trial to the next
+    private long flip(long signature, int bits) {
+        long flipped = signature;
+        while (SimHash.distance(flipped, signature) < bits) {
+            flipped ^= 1L << random.nextInt(64);
+        }
+        return flipped;
+    }
+}
@@ -0,0 +1,173 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.TicketClassification;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.MailSenderService;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Near-duplicate handling at intake through the real {@link DuplicateTicketIndex}, with the default distances.
+ * Runs without a test transaction, so the index sees each launch after it commits.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SupportTicketServiceImpl.class, AgentLoadIndex.class, DuplicateTicketIndex.class,
+        DuplicateTicketIntakeTest.MetricsConfig.class})
+class DuplicateTicketIntakeTest {
+
+    private static final String LOGIN_ISSUE =
+            "The customer portal rejects my password every time I try to sign in since the update yesterday evening";
+    // 9 bits from LOGIN_ISSUE: within the issuer distance, too far to merge
+    private static final String LOGIN_ISSUE_REWORDED =
+            "The customer portal rejects my password every time I try to sign in since the update yesterday";
+
+    @Autowired
+    private SupportTicketServiceImpl supportTicketService;
+    @Autowired
+    private AgentLoadIndex agentLoadIndex;
+    @Autowired
+    private DuplicateTicketIndex duplicateTicketIndex;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @MockitoBean
+    private AdminServiceImpl adminServiceImpl;
+    @MockitoBean
+    private MailSenderService mailSenderService;
+    @MockitoBean
+    private TicketAnalysisServiceImpl ticketAnalysisServiceImpl;
+    @MockitoBean
+    private AnalyticsReadModel analyticsReadModel;
+    @MockitoBean
+    private TicketEventOutbox ticketEventOutbox;
+    @MockitoBean
+    private TicketIdempotencyGuard ticketIdempotencyGuard;
+    @MockitoBean
+    private AgentEventHub agentEventHub;
+    @MockitoBean
+    private TicketClassifier ticketClassifier;
+    @MockitoBean(name = "applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+
+    private Admin first;
+    private Admin second;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketClassifier.classify(any(), any()))
+                .thenReturn(new TicketClassification(Priority.NORMAL, Category.SUPPORT));
+        first = agent("first@example.com");
+        second = agent("second@example.com");
+        agentLoadIndex.seed();
+    }
+
+    @AfterEach
+    void tearDown() {
+        supportTicketRepository.deleteAll();
+        adminRepository.deleteAll();
+        duplicateTicketIndex.seed();
+    }
+
+    @Test
+    void mergesANearCopyFromTheSameIssuer() {
+        supportTicketService.launchTicket(ticket("customer@example.com", LOGIN_ISSUE));
+        SupportTicket original = supportTicketRepository.findAll().get(0);
+
+        String message = supportTicketService.launchTicket(ticket("Customer@Example.com", LOGIN_ISSUE), "web");
+
+        assertThat(message).isEqualTo("Ticket merged into open ticket " + original.getId());
+        assertThat(supportTicketRepository.count()).isEqualTo(1);
+        verify(ticketEventOutbox).conversationEntry(eq(original.getId()), eq("USER"), eq("web"), eq(LOGIN_ISSUE), any());
+    }
+
+    @Test
+    void opensARewordedRepeatAsALinkedTicket() {
+        supportTicketService.launchTicket(ticket("customer@example.com", LOGIN_ISSUE));
+
+        String message = supportTicketService.launchTicket(ticket("customer@example.com", LOGIN_ISSUE_REWORDED));
+
+        List<SupportTicket> tickets = tickets();
+        assertThat(message).isEqualTo("Ticket successfully opened ");
+        assertThat(tickets).hasSize(2);
+        assertThat(tickets.get(1).getDuplicateOfTicketId()).isEqualTo(tickets.get(0).getId());
+        assertThat(tickets.get(1).getAssignedTo()).isNotNull();
+    }
+
+    @Test
+    void assignsADuplicateFromAnotherIssuerLikeAnyOtherTicket() {
+        supportTicketService.launchTicket(ticket("customer@example.com", LOGIN_ISSUE));
+        Long originalAgent = tickets().get(0).getAssignedTo().getId();
+        Long otherAgent = originalAgent.equals(first.getId()) ? second.getId() : first.getId();
+        agentLoadIndex.setEnabled(originalAgent, false);
+
+        supportTicketService.launchTicket(ticket("colleague@example.com", LOGIN_ISSUE));
+
+        List<SupportTicket> tickets = tickets();
+        assertThat(tickets).hasSize(2);
+        assertThat(tickets.get(1).getDuplicateOfTicketId()).isEqualTo(tickets.get(0).getId());
+        assertThat(tickets.get(1).getAssignedTo().getId()).isEqualTo(otherAgent);
+    }
+
+    private List<SupportTicket> tickets() {
+        return supportTicketRepository.findAll().stream()
+                .sorted(Comparator.comparing(SupportTicket::getId))
+                .toList();
+    }
+
+    private Admin agent(String email) {
+        Admin agent = new Admin();
+        agent.setEmail(email);
+        agent.setRole(Role.AGENT);
+        agent.setEnabled(true);
+        return adminRepository.save(agent);
+    }
+
+    private static SupportTicket ticket(String issuerEmail, String content) {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setIssuerEmail(issuerEmail);
+        ticket.setSubject("Support request from " + issuerEmail);
+        ticket.setContent(content);
+        return ticket;
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.TicketAnalysis;
+import com.joinai_support.repository.TicketAnalysisRepository;
+import com.joinai_support.testing.InMemoryMongo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Import(TicketAnalysisServiceImpl.class)
+class TicketAnalysisServiceImplTest {
+
+    private static final int APPENDS = 64;
+
+    @DynamicPropertySource
+    static void mongo(DynamicPropertyRegistry registry) {
+        InMemoryMongo.register(registry);
+    }
+
+    @Autowired
+    private TicketAnalysisServiceImpl ticketAnalysisService;
+    @Autowired
+    private TicketAnalysisRepository ticketAnalysisRepository;
+
+    @AfterEach
+    void tearDown() {
+        ticketAnalysisRepository.deleteAll();
+    }
+
+    @Test
+    void parallelAppendsAreAllKept() throws Exception {
+        ticketAnalysisService.createRecord("1", "Cannot log in", "customer@example.com");
+
+        runInParallel(APPENDS * 2, i -> {
+            if (i % 2 == 0) {
+                ticketAnalysisService.addReply("1", "reply " + i);
+            } else {
+                ticketAnalysisService.appendConversationEntry("1", "USER", "chatbot", "message " + i, LocalDateTime.now());
+            }
+        });
+
+        TicketAnalysis record = ticketAnalysisService.getTicket("1").orElseThrow();
+        assertThat(record.getReplies()).hasSize(APPENDS);
+        assertThat(record.getTotalReplies()).isEqualTo(APPENDS);
+        // The opening question, one entry per reply and one per conversation message
+        assertThat(record.getConversationHistory()).hasSize(1 + APPENDS * 2);
+    }
+
+    @Test
+    void redeliveredOutboxEventsAreAppliedOnce() throws Exception {
+        ticketAnalysisService.createRecord("2", "Invoice is wrong", "customer@example.com");
+
+        // Every event is delivered twice, concurrently
+        runInParallel(APPENDS * 2, i -> ticketAnalysisService.addReply(
+                "2", "reply " + i / 2, LocalDateTime.now(), (long) (i / 2)));
+
+        TicketAnalysis record = ticketAnalysisService.getTicket("2").orElseThrow();
+        assertThat(record.getReplies()).hasSize(APPENDS).doesNotHaveDuplicates();
+        assertThat(record.getTotalReplies()).isEqualTo(APPENDS);
+        assertThat(record.getProcessedEventIds()).hasSize(APPENDS);
+    }
+
+    @Test
+    void loadsRecordsByTicketIds() {
+        ticketAnalysisService.createRecord("3", "Cannot log in", "Customer@Example.com");
+        ticketAnalysisService.createRecord("4", "Invoice is wrong", "customer@example.com");
+        ticketAnalysisService.createRecord("5", "Other customer", "other@example.com");
+
+        Map<String, TicketAnalysis> records = ticketAnalysisService.getTickets(List.of("3", "4", "6"));
+
+        assertThat(records).containsOnlyKeys("3", "4");
+        assertThat(records.get("3").getQuestion()).isEqualTo("Cannot log in");
+    }
+
+    private static void runInParallel(int tasks, IntTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        void run(int index);
+    }
+}
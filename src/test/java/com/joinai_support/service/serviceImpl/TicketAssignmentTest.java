@@ -0,0 +1,196 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.TicketClassification;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.MailSenderService;
+import com.joinai_support.utils.Priority;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Intake assignment through {@link AgentLoadIndex}. Runs without a test transaction, so every launch
+ * commits and the index sees its after-commit updates as it does in production.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SupportTicketServiceImpl.class, AgentLoadIndex.class})
+class TicketAssignmentTest {
+
+    @Autowired
+    private SupportTicketServiceImpl supportTicketService;
+    @Autowired
+    private AgentLoadIndex agentLoadIndex;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AdminServiceImpl adminServiceImpl;
+    @MockitoBean
+    private MailSenderService mailSenderService;
+    @MockitoBean
+    private TicketAnalysisServiceImpl ticketAnalysisServiceImpl;
+    @MockitoBean
+    private AnalyticsReadModel analyticsReadModel;
+    @MockitoBean
+    private TicketEventOutbox ticketEventOutbox;
+    @MockitoBean
+    private TicketIdempotencyGuard ticketIdempotencyGuard;
+    @MockitoBean
+    private AgentEventHub agentEventHub;
+    @MockitoBean
+    private TicketClassifier ticketClassifier;
+    @MockitoBean
+    private DuplicateTicketIndex duplicateTicketIndex;
+    @MockitoBean(name = "applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketClassifier.classify(any(), any()))
+                .thenReturn(new TicketClassification(Priority.NORMAL, Category.SUPPORT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        supportTicketRepository.deleteAll();
+        adminRepository.deleteAll();
+    }
+
+    @Test
+    void spreadsNewTicketsOverEnabledAgentsOnly() {
+        Admin first = agent("first@example.com", true);
+        Admin second = agent("second@example.com", true);
+        Admin disabled = agent("disabled@example.com", false);
+        agentLoadIndex.seed();
+
+        supportTicketService.launchTicket(ticket("one@example.com", "Cannot log in to the customer portal"));
+        supportTicketService.launchTicket(ticket("two@example.com", "Invoice for March shows the wrong amount"));
+
+        List<Long> assignees = supportTicketRepository.findAll().stream()
+                .map(ticket -> ticket.getAssignedTo().getId())
+                .toList();
+        assertThat(assignees).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(agentLoadIndex.openTickets(first.getId())).isEqualTo(1);
+        assertThat(agentLoadIndex.openTickets(second.getId())).isEqualTo(1);
+        assertThat(agentLoadIndex.openTickets(disabled.getId())).isZero();
+    }
+
+    @Test
+    void stopsAssigningToAnAgentOnceDisabled() {
+        Admin first = agent("first@example.com", true);
+        Admin second = agent("second@example.com", true);
+        agentLoadIndex.seed();
+        agentLoadIndex.setEnabled(first.getId(), false);
+
+        supportTicketService.launchTicket(ticket("one@example.com", "Cannot log in to the customer portal"));
+        supportTicketService.launchTicket(ticket("two@example.com", "Invoice for March shows the wrong amount"));
+
+        assertThat(supportTicketRepository.findAll())
+                .allSatisfy(ticket -> assertThat(ticket.getAssignedTo().getId()).isEqualTo(second.getId()));
+        assertThat(agentLoadIndex.openTickets(first.getId())).isZero();
+        assertThat(agentLoadIndex.openTickets(second.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void spreadsLaunchesThatHaveNotCommittedYet() {
+        Admin first = agent("first@example.com", true);
+        Admin second = agent("second@example.com", true);
+        agentLoadIndex.seed();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            supportTicketService.launchTicket(ticket("one@example.com", "Cannot log in to the customer portal"));
+            supportTicketService.launchTicket(ticket("two@example.com", "Invoice for March shows the wrong amount"));
+        });
+
+        assertThat(assigneesInLaunchOrder()).containsExactly(first.getId(), second.getId());
+        assertThat(agentLoadIndex.openTickets(first.getId())).isEqualTo(1);
+        assertThat(agentLoadIndex.openTickets(second.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void releasesTheAgentOfARolledBackLaunch() {
+        Admin first = agent("first@example.com", true);
+        Admin second = agent("second@example.com", true);
+        agentLoadIndex.seed();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            supportTicketService.launchTicket(ticket("one@example.com", "Cannot log in to the customer portal"));
+            status.setRollbackOnly();
+        });
+        supportTicketService.launchTicket(ticket("two@example.com", "Invoice for March shows the wrong amount"));
+        supportTicketService.launchTicket(ticket("three@example.com", "The export button does nothing"));
+
+        assertThat(assigneesInLaunchOrder()).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void picksUpTicketsAssignedElsewhereOnReconcile() {
+        Admin first = agent("first@example.com", true);
+        Admin second = agent("second@example.com", true);
+        agentLoadIndex.seed();
+
+        // Assigned through another instance, so this index never saw the change
+        SupportTicket elsewhere = ticket("one@example.com", "Cannot log in to the customer portal");
+        elsewhere.setStatus(Status.OPEN);
+        elsewhere.setAssignedTo(first);
+        supportTicketRepository.save(elsewhere);
+        agentLoadIndex.reconcile();
+
+        supportTicketService.launchTicket(ticket("two@example.com", "Invoice for March shows the wrong amount"));
+
+        assertThat(agentLoadIndex.openTickets(first.getId())).isEqualTo(1);
+        assertThat(assigneesInLaunchOrder()).containsExactly(first.getId(), second.getId());
+    }
+
+    private List<Long> assigneesInLaunchOrder() {
+        return supportTicketRepository.findAll().stream()
+                .sorted(Comparator.comparing(SupportTicket::getId))
+                .map(ticket -> ticket.getAssignedTo().getId())
+                .toList();
+    }
+
+    private Admin agent(String email, boolean enabled) {
+        Admin agent = new Admin();
+        agent.setEmail(email);
+        agent.setRole(Role.AGENT);
+        agent.setEnabled(enabled);
+        return adminRepository.save(agent);
+    }
+
+    private static SupportTicket ticket(String issuerEmail, String content) {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setIssuerEmail(issuerEmail);
+        ticket.setSubject("Support request from " + issuerEmail);
+        ticket.setContent(content);
+        return ticket;
+    }
+}
@@ -0,0 +1,124 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joinai_support.dto.TicketClassification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * {@link TicketClassifier} against one precompiled whole-word pattern per phrase, as the rule set grows.
+ * The ticket is about 2.5 KB of text with a handful of rule phrases in it. Run through {@link #main} on the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicketClassifierBenchmark {
+
+    private static final String[] CATEGORIES = {"BILLING", "TECHNICAL", "ACCOUNT", "SALES"};
+    private static final String[] PRIORITIES = {"CRITICAL", "URGENT", "HIGH", "LOW"};
+
+    @Param({"50", "1000", "50000"})
+    public int phrases;
+
+    private Path rulesFile;
+    private TicketClassifier classifier;
+    private List<Pattern> patterns;
+    private String subject;
+    private String content;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        Map<String, List<String>> rules = new LinkedHashMap<>();
+        patterns = new ArrayList<>(phrases);
+        for (int i = 0; i < phrases; i++) {
+            String phrase = word(random) + (i % 3 == 0 ? " " + word(random) : "");
+            rules.computeIfAbsent(i % 2 == 0 ? CATEGORIES[i % CATEGORIES.length] : PRIORITIES[i % PRIORITIES.length],
+                    key -> new ArrayList<>()).add(phrase);
+            patterns.add(Pattern.compile("\\b" + Pattern.quote(phrase) + "\\b", Pattern.CASE_INSENSITIVE));
+        }
+
+        StringBuilder json = new StringBuilder("{\"rules\": [");
+        rules.forEach((target, targetPhrases) -> {
+            json.append(json.charAt(json.length() - 1) == '[' ? "" : ",")
+                    .append(List.of(CATEGORIES).contains(target) ? "{\"category\": \"" : "{\"priority\": \"")
+                    .append(target).append("\", \"phrases\": [");
+            for (int i = 0; i < targetPhrases.size(); i++) {
+                json.append(i == 0 ? "\"" : ",\"").append(targetPhrases.get(i)).append('"');
+            }
+            json.append("]}");
+        });
+        rulesFile = Files.createTempFile("ticket-classification-rules", ".json");
+        Files.writeString(rulesFile, json.append("]}"));
+        classifier = new TicketClassifier(new DefaultResourceLoader(), new ObjectMapper(), new SimpleMeterRegistry(),
+                "file:" + rulesFile.toAbsolutePath());
+
+        subject = "Cannot log in since the last update";
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 2500) {
+            text.append(random.nextInt(40) == 0 ? rules.get("BILLING").get(0) : word(random)).append(' ');
+        }
+        content = text.toString();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(rulesFile);
+    }
+
+    @Benchmark
+    public TicketClassification automaton() {
+        return classifier.classify(subject, content);
+    }
+
+    @Benchmark
+    public void patternPerPhrase(Blackhole blackhole) {
+        for (Pattern pattern : patterns) {
+            blackhole.consume(pattern.matcher(subject).find());
+            blackhole.consume(pattern.matcher(content).find());
+        }
+    }
+
+    private static String word(Random random) {
+        char[] word = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TicketClassifierBenchmark.class.getSimpleName()).build()).run();
+    }
+}
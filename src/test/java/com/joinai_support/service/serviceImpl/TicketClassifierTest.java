@@ -0,0 +1,151 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.joinai_support.dto.TicketClassification;
+import com.joinai_support.utils.Category;
+import com.joinai_support.utils.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketClassifierTest {
+
+    private static final String RULES = """
+            {
+              "defaultPriority": "NORMAL",
+              "defaultCategory": "SUPPORT",
+              "rules": [
+                {"priority": "CRITICAL", "phrases": ["data loss"]},
+                {"priority": "HIGH", "phrases": ["error"]},
+                {"category": "BILLING", "weight": 2, "phrases": ["invoice", "refund"]},
+                {"category": "TECHNICAL", "weight": 1, "phrases": ["error", "api"]}
+              ]
+            }
+            """;
+
+    @TempDir
+    Path rulesDir;
+
+    @Test
+    void picksMostUrgentPriorityAndHeaviestCategory() throws IOException {
+        TicketClassifier classifier = classifier(write(RULES, 1));
+
+        assertThat(classifier.classify("Invoice error", "The API returns an error, possible data loss"))
+                .isEqualTo(new TicketClassification(Priority.CRITICAL, Category.TECHNICAL));
+        assertThat(classifier.classify("Refund", "Please refund the invoice"))
+                .isEqualTo(new TicketClassification(Priority.NORMAL, Category.BILLING));
+        assertThat(classifier.classify("Question", "How do I change my avatar?"))
+                .isEqualTo(new TicketClassification(Priority.NORMAL, Category.SUPPORT));
+    }
+
+    @Test
+    void swapsInChangedRulesOnReload() throws IOException {
+        Path rules = write(RULES, 1);
+        TicketClassifier classifier = classifier(rules);
+        assertThat(classifier.classify("Refund", "").category()).isEqualTo(Category.BILLING);
+
+        write("""
+                {"defaultPriority": "LOW", "defaultCategory": "ACCOUNT",
+                 "rules": [{"priority": "URGENT", "category": "SALES", "phrases": ["refund"]}]}
+                """, 2);
+        classifier.reload();
+
+        assertThat(classifier.classify("Refund", ""))
+                .isEqualTo(new TicketClassification(Priority.URGENT, Category.SALES));
+        assertThat(classifier.classify("Invoice error", ""))
+                .isEqualTo(new TicketClassification(Priority.LOW, Category.ACCOUNT));
+    }
+
+    @Test
+    void classifiesAgainstOneWholeRuleSetWhileReloading() throws Exception {
+        String billing = "{\"rules\": [{\"priority\": \"URGENT\", \"category\": \"BILLING\", \"phrases\": [\"refund\"]}]}";
+        String sales = "{\"rules\": [{\"priority\": \"LOW\", \"category\": \"SALES\", \"phrases\": [\"refund\"]}]}";
+        TicketClassifier classifier = classifier(write(billing, 1));
+        Set<TicketClassification> seen = ConcurrentHashMap.newKeySet();
+        AtomicBoolean reloading = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    while (reloading.get()) {
+                        seen.add(classifier.classify("Refund", "I want a refund"));
+                    }
+                }));
+            }
+            for (int version = 2; version < 200; version++) {
+                write(version % 2 == 0 ? sales : billing, version);
+                classifier.reload();
+            }
+            reloading.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(seen).isSubsetOf(new TicketClassification(Priority.URGENT, Category.BILLING),
+                new TicketClassification(Priority.LOW, Category.SALES));
+        assertThat(classifier.classify("Refund", "")).isEqualTo(new TicketClassification(Priority.URGENT, Category.BILLING));
+    }
+
+    @Test
+    void keepsPreviousRulesWhenTheNewFileIsInvalid() throws IOException {
+        TicketClassifier classifier = classifier(write(RULES, 1));
+
+        write("{\"rules\": [", 2);
+        classifier.reload();
+
+        assertThat(classifier.classify("Invoice error", ""))
+                .isEqualTo(new TicketClassification(Priority.HIGH, Category.BILLING));
+    }
+
+    @Test
+    void ignoresARewriteWithTheSameModificationTime() throws IOException {
+        TicketClassifier classifier = classifier(write(RULES, 1));
+
+        write("{\"defaultPriority\": \"LOW\", \"rules\": []}", 1);
+        classifier.reload();
+
+        assertThat(classifier.classify("Invoice", "").category()).isEqualTo(Category.BILLING);
+    }
+
+    @Test
+    void fallsBackToDefaultsWithoutARulesFile() {
+        TicketClassifier classifier = classifier(rulesDir.resolve("missing.json"));
+
+        assertThat(classifier.classify("Data loss", "Invoice error"))
+                .isEqualTo(new TicketClassification(Priority.NORMAL, Category.SUPPORT));
+    }
+
+    private Path write(String json, long modifiedSeconds) throws IOException {
+        Path rules = rulesDir.resolve("rules.json");
+        Files.writeString(rules, json);
+        Files.setLastModifiedTime(rules, FileTime.fromMillis(modifiedSeconds * 1000));
+        return rules;
+    }
+
+    private static TicketClassifier classifier(Path rules) {
+        return new TicketClassifier(new DefaultResourceLoader(), new ObjectMapper(), new SimpleMeterRegistry(),
+                "file:" + rules.toAbsolutePath());
+    }
+}
@@ -0,0 +1,131 @@
+package com.joinai_support.service.serviceImpl;
+
+import com.joinai_support.domain.Admin;
+import com.joinai_support.domain.SupportTicket;
+import com.joinai_support.dto.Identity;
+import com.joinai_support.repository.AdminRepository;
+import com.joinai_support.repository.SupportTicketRepository;
+import com.joinai_support.utils.MailSenderService;
+import com.joinai_support.utils.Role;
+import com.joinai_support.utils.Status;
+import com.joinai_support.utils.TicketCursor;
+import com.joinai_support.utils.TicketDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Full and delta modes of {@link SupportTicketServiceImpl#getNotifications(String, String)}.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SupportTicketServiceImpl.class, AgentLoadIndex.class})
+class TicketNotificationsTest {
+
+    private static final String CURSOR_IN_THE_PAST =
+            new TicketCursor(LocalDateTime.of(2000, 1, 1, 0, 0), 0L).encode();
+
+    @Autowired
+    private SupportTicketServiceImpl supportTicketService;
+    @Autowired
+    private AdminRepository adminRepository;
+    @Autowired
+    private SupportTicketRepository supportTicketRepository;
+
+    @MockitoBean
+    private AdminServiceImpl adminServiceImpl;
+    @MockitoBean
+    private MailSenderService mailSenderService;
+    @MockitoBean
+    private TicketAnalysisServiceImpl ticketAnalysisServiceImpl;
+    @MockitoBean
+    private AnalyticsReadModel analyticsReadModel;
+    @MockitoBean
+    private TicketEventOutbox ticketEventOutbox;
+    @MockitoBean
+    private TicketIdempotencyGuard ticketIdempotencyGuard;
+    @MockitoBean
+    private AgentEventHub agentEventHub;
+    @MockitoBean
+    private TicketClassifier ticketClassifier;
+    @MockitoBean
+    private DuplicateTicketIndex duplicateTicketIndex;
+    @MockitoBean(name = "applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+
+    @AfterEach
+    void tearDown() {
+        supportTicketRepository.deleteAll();
+        adminRepository.deleteAll();
+    }
+
+    @Test
+    void rejectsUnknownCallersInBothModes() {
+        assertThat(supportTicketService.getNotifications("nobody@example.com", null).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(supportTicketService.getNotifications("nobody@example.com", CURSOR_IN_THE_PAST).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void rejectsDisabledAgentsInBothModes() {
+        Admin disabled = agent("disabled@example.com", false);
+        assign(disabled);
+
+        assertThat(supportTicketService.getNotifications(disabled.getEmail(), null).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(supportTicketService.getNotifications(disabled.getEmail(), CURSOR_IN_THE_PAST).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void deltaReturnsOnlyTheCallersTickets() {
+        Admin agent = agent("agent@example.com", true);
+        Admin other = agent("other@example.com", true);
+        SupportTicket own = assign(agent);
+        assign(other);
+
+        ResponseEntity<List<TicketDTO>> delta = supportTicketService.getNotifications(agent.getEmail(), CURSOR_IN_THE_PAST);
+
+        assertThat(delta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(delta.getBody()).extracting(TicketDTO::getId).containsExactly(own.getId());
+        assertThat(delta.getHeaders().getFirst(SupportTicketServiceImpl.NOTIFICATIONS_CURSOR_HEADER)).isNotNull();
+    }
+
+    private Admin agent(String email, boolean enabled) {
+        Admin agent = new Admin();
+        agent.setEmail(email);
+        agent.setRole(Role.AGENT);
+        agent.setEnabled(enabled);
+        agent = adminRepository.save(agent);
+        when(adminServiceImpl.resolveAdmin(email)).thenReturn(Identity.of(agent));
+        return agent;
+    }
+
+    private SupportTicket assign(Admin agent) {
+        SupportTicket ticket = new SupportTicket();
+        ticket.setIssuerEmail("customer@example.com");
+        ticket.setSubject("Support request");
+        ticket.setContent("Cannot log in to the customer portal");
+        ticket.setStatus(Status.OPEN);
+        ticket.setAssignedTo(agent);
+        ticket.setLaunchTimestamp(LocalDateTime.now());
+        return supportTicketRepository.save(ticket);
+    }
+}
@@ -0,0 +1,37 @@
+package com.joinai_support.testing;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.net.InetSocketAddress;
+
+/**
+ * One in-memory MongoDB server per test JVM, speaking the wire protocol, so the Mongo-backed
+ * services run their real queries and updates without an external database.
+ */
+public final class InMemoryMongo {
+
+    private static MongoServer server;
+    private static String uri;
+
+    private InMemoryMongo() {
+    }
+
+    /**
+     * Points {@code spring.data.mongodb.uri} at the shared server, starting it on first use.
+     */
+    public static void register(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", InMemoryMongo::uri);
+    }
+
+    private static synchronized String uri() {
+        if (server == null) {
+            server = new MongoServer(new MemoryBackend());
+            InetSocketAddress address = server.bind();
+            uri = "mongodb://" + address.getHostString() + ":" + address.getPort() + "/joinai";
+            Runtime.getRuntime().addShutdownHook(new Thread(server::shutdownNow));
+        }
+        return uri;
+    }
+}
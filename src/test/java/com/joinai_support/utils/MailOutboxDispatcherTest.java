@@ -0,0 +1,155 @@
+package com.joinai_support.utils;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.joinai_support.domain.MailOutboxMessage;
+import com.joinai_support.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Delivery through {@link MailOutboxDispatcher} against an in-process GreenMail SMTP server.
+ * Runs without a test transaction, because the dispatcher claims and records messages in its own.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MailOutboxDispatcher.class, MailOutboxDispatcherTest.SmtpConfig.class})
+class MailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void deliversPendingMessagesAndClearsTheirBodies() throws Exception {
+        MailOutboxMessage welcome = mailOutboxRepository.save(message("new.agent@example.com", "Password: hunter2"));
+        MailOutboxMessage reset = mailOutboxRepository.save(message("agent@example.com", "Your code is 123456"));
+
+        mailOutboxDispatcher.wakeUp();
+
+        assertThat(greenMail.waitForIncomingEmail(10000, 2)).isTrue();
+        assertThat(greenMail.getReceivedMessages())
+                .extracting(MimeMessage::getSubject)
+                .containsOnly("Welcome");
+        assertThat(awaitSettled(welcome.getId(), m -> m.getStatus() == MailStatus.SENT).getBody()).isNull();
+        assertThat(awaitSettled(reset.getId(), m -> m.getStatus() == MailStatus.SENT).getBody()).isNull();
+    }
+
+    @Test
+    void clearsTheBodyOfAMessageThatRunsOutOfAttempts() throws Exception {
+        JavaMailSender failingSender = mock(JavaMailSender.class);
+        doThrow(new MailSendException("Connection refused")).when(failingSender).send(any(SimpleMailMessage[].class));
+        MailOutboxDispatcher dispatcher = new MailOutboxDispatcher(mailOutboxRepository, failingSender,
+                transactionTemplate, meterRegistry, "", 1, 50, 1, 30000, 3600000, 168);
+        MailOutboxMessage welcome = mailOutboxRepository.save(message("new.agent@example.com", "Password: hunter2"));
+
+        try {
+            dispatcher.wakeUp();
+            MailOutboxMessage failed = awaitSettled(welcome.getId(), m -> m.getStatus() == MailStatus.FAILED);
+
+            assertThat(failed.getBody()).isNull();
+            assertThat(failed.getLastError()).isEqualTo("Connection refused");
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void purgesSettledMessagesPastRetention() {
+        LocalDateTime old = LocalDateTime.now().minusDays(8);
+        mailOutboxRepository.save(settled(MailStatus.SENT, old));
+        mailOutboxRepository.save(settled(MailStatus.FAILED, old));
+        MailOutboxMessage oldPending = mailOutboxRepository.save(settled(MailStatus.PENDING, old));
+        MailOutboxMessage recentSent = mailOutboxRepository.save(settled(MailStatus.SENT, LocalDateTime.now()));
+
+        mailOutboxDispatcher.purgeSettled();
+
+        assertThat(mailOutboxRepository.findAll())
+                .extracting(MailOutboxMessage::getId)
+                .containsExactlyInAnyOrder(oldPending.getId(), recentSent.getId());
+    }
+
+    private MailOutboxMessage awaitSettled(Long id, Predicate<MailOutboxMessage> settled) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (true) {
+            MailOutboxMessage message = mailOutboxRepository.findById(id).orElseThrow();
+            if (settled.test(message) || System.currentTimeMillis() > deadline) {
+                return message;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static MailOutboxMessage message(String recipient, String body) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject("Welcome");
+        message.setBody(body);
+        return message;
+    }
+
+    private static MailOutboxMessage settled(MailStatus status, LocalDateTime createdAt) {
+        MailOutboxMessage message = message("agent@example.com", status == MailStatus.PENDING ? "Hello" : null);
+        message.setStatus(status);
+        message.setCreatedAt(createdAt);
+        // Keep the dispatcher's own wake-ups away from the pending row
+        message.setNextAttemptAt(createdAt.plusYears(1));
+        return message;
+    }
+
+    @TestConfiguration
+    static class SmtpConfig {
+
+        @Bean
+        JavaMailSender javaMailSender() {
+            JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+            mailSender.setHost("localhost");
+            mailSender.setPort(ServerSetupTest.SMTP.getPort());
+            return mailSender;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.joinai_support.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhraseAutomatonTest {
+
+    @Test
+    void reportsOverlappingAndSuffixPhrasesOfOneOccurrence() {
+        PhraseAutomaton automaton = PhraseAutomaton.build(List.of("cannot log in", "log in", "in", "data loss", "loss"));
+
+        assertThat(scan(automaton, "I cannot log in; data loss!")).containsExactlyInAnyOrder(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void reportsOccurrencesInTheOrderTheyEnd() {
+        PhraseAutomaton automaton = PhraseAutomaton.build(List.of("refund", "charged twice", "twice"));
+
+        assertThat(scan(automaton, "Refund please, I was charged twice. Twice!"))
+                .containsExactly(0, 2, 1, 2);
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        PhraseAutomaton automaton = PhraseAutomaton.build(List.of("down", "log in"));
+
+        assertThat(scan(automaton, "The download page says login failed")).isEmpty();
+        assertThat(scan(automaton, "Site DOWN, cannot log-in")).containsExactly(0, 1);
+    }
+
+    @Test
+    void ignoresCasePunctuationAndRunsOfWhitespace() {
+        PhraseAutomaton automaton = PhraseAutomaton.build(List.of("Two-Factor  code"));
+
+        assertThat(scan(automaton, "my two factor\n\tcode never arrives")).containsExactly(0);
+    }
+
+    @Test
+    void skipsPhrasesWithoutLettersOrDigits() {
+        PhraseAutomaton automaton = PhraseAutomaton.build(List.of("!!!", "help"));
+
+        assertThat(automaton.getPhraseCount()).isEqualTo(2);
+        assertThat(scan(automaton, "!!! help !!!")).containsExactly(1);
+        assertThat(scan(automaton, null)).isEmpty();
+    }
+
+    private static List<Integer> scan(PhraseAutomaton automaton, String text) {
+        List<Integer> matches = new ArrayList<>();
+        automaton.scan(text, matches::add);
+        return matches;
+    }
+}